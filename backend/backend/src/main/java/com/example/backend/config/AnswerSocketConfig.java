@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Answer WebSocket configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.answer-socket")
+@Data
+public class AnswerSocketConfig {
+
+    /**
+     * Close connections without frames for this long, in milliseconds (default: 2 minutes)
+     */
+    private Long idleTimeout = 120000L;
+
+    /**
+     * Largest accepted text frame, in bytes (default: 8 KB)
+     */
+    private Integer maxFrameSize = 8192;
+
+    /**
+     * Longest time an ack may block on a slow client before the connection is closed, in milliseconds (default: 10 seconds)
+     */
+    private Integer sendTimeLimit = 10000;
+
+    /**
+     * Acks buffered for a slow client before the connection is closed, in bytes (default: 64 KB)
+     */
+    private Integer sendBufferSizeLimit = 65536;
+}
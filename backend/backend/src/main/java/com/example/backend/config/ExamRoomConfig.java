@@ -0,0 +1,19 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exam room configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.exam-room")
+@Data
+public class ExamRoomConfig {
+
+    /**
+     * Lifetime of cached exam room lookups by code, in milliseconds (default: 30 seconds); 0 disables the cache
+     */
+    private Long codeCacheTtl = 30000L;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exam entry ticket configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.exam-ticket")
+@Data
+public class ExamTicketConfig {
+
+    /**
+     * HMAC key for signing tickets; empty derives one from the JWT secret
+     */
+    private String secret;
+
+    /**
+     * Maximum ticket lifetime in milliseconds (default: 2 hours); never beyond the session end time
+     */
+    private Long ttl = 7200000L;
+
+    /**
+     * Interval between batched exam start status updates, in milliseconds (default: 200)
+     */
+    private Long startFlushInterval = 200L;
+}
@@ -0,0 +1,47 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google sign-in configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.google")
+@Data
+public class GoogleAuthConfig {
+
+    /**
+     * OAuth client IDs accepted as ID token audience
+     */
+    private List<String> clientIds = new ArrayList<>();
+
+    /**
+     * Accepted ID token issuers
+     */
+    private List<String> issuers = new ArrayList<>(List.of("https://accounts.google.com", "accounts.google.com"));
+
+    /**
+     * Google public signing keys (JWKS), cached by the decoder and refreshed when stale or on an unknown key ID
+     */
+    private String jwkSetUri = "https://www.googleapis.com/oauth2/v3/certs";
+
+    /**
+     * UserInfo endpoint used for access-token sign-in
+     */
+    private String userInfoUri = "https://www.googleapis.com/oauth2/v3/userinfo";
+
+    /**
+     * Connect timeout for calls to Google in milliseconds (default: 2 seconds)
+     */
+    private Long connectTimeout = 2000L;
+
+    /**
+     * Read timeout for calls to Google in milliseconds (default: 3 seconds)
+     */
+    private Long readTimeout = 3000L;
+}
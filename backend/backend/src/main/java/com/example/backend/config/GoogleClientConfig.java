@@ -0,0 +1,78 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP client and ID token decoder for Google sign-in.
+ * One JDK HttpClient (connection pooling, HTTP/2) is shared by the JWKS fetch and the UserInfo fallback.
+ */
+@Configuration
+public class GoogleClientConfig {
+
+    /**
+     * Pooled, timeout-bounded request factory for calls to Google
+     */
+    @Bean
+    public JdkClientHttpRequestFactory googleRequestFactory(GoogleAuthConfig googleAuthConfig) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(googleAuthConfig.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(googleAuthConfig.getReadTimeout()));
+        return requestFactory;
+    }
+
+    /**
+     * REST client for the Google UserInfo endpoint
+     */
+    @Bean
+    public RestClient googleRestClient(JdkClientHttpRequestFactory googleRequestFactory) {
+        return RestClient.builder()
+                .requestFactory(googleRequestFactory)
+                .build();
+    }
+
+    /**
+     * Google ID token decoder verifying signature (cached JWKS), issuer, audience and expiry locally
+     */
+    @Bean
+    public JwtDecoder googleIdTokenDecoder(GoogleAuthConfig googleAuthConfig,
+                                           JdkClientHttpRequestFactory googleRequestFactory) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(googleAuthConfig.getJwkSetUri())
+                .restOperations(new RestTemplate(googleRequestFactory))
+                .build();
+        decoder.setJwtValidator(googleIdTokenValidator(googleAuthConfig));
+        return decoder;
+    }
+
+    /**
+     * Validator for Google ID token claims
+     */
+    public static OAuth2TokenValidator<Jwt> googleIdTokenValidator(GoogleAuthConfig googleAuthConfig) {
+        OAuth2TokenValidator<Jwt> issuer = jwt -> googleAuthConfig.getIssuers().contains(jwt.getClaimAsString(JwtClaimNames.ISS))
+                ? OAuth2TokenValidatorResult.success()
+                : OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Unexpected issuer", null));
+        OAuth2TokenValidator<Jwt> audience = jwt -> jwt.getAudience() != null
+                && jwt.getAudience().stream().anyMatch(googleAuthConfig.getClientIds()::contains)
+                ? OAuth2TokenValidatorResult.success()
+                : OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Unexpected audience", null));
+        return new DelegatingOAuth2TokenValidator<>(new JwtTimestampValidator(), issuer, audience);
+    }
+}
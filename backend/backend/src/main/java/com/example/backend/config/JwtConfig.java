@@ -36,5 +36,34 @@ public class JwtConfig {
      * Authorization header name
      */
     private String headerName = "Authorization";
-}
 
+    /**
+     * Interval in milliseconds between reloads of the token revocation state (default: 30 seconds)
+     */
+    private Long revocationRefreshInterval = 30000L;
+
+    /**
+     * Maximum number of verified tokens kept in memory (default: 10000)
+     */
+    private Integer verifiedTokenCacheSize = 10000;
+
+    /**
+     * Cron for purging expired/revoked refresh tokens (default: every 10 minutes between 01:00 and 05:59)
+     */
+    private String refreshTokenPurgeCron = "0 */10 1-5 * * *";
+
+    /**
+     * Rows deleted per purge chunk, each chunk in its own short transaction (default: 1000)
+     */
+    private Integer refreshTokenPurgeBatchSize = 1000;
+
+    /**
+     * Maximum chunks deleted per purge run (default: 100)
+     */
+    private Integer refreshTokenPurgeMaxChunks = 100;
+
+    /**
+     * How long revoked refresh tokens are kept before purge, in milliseconds (default: 1 day)
+     */
+    private Long revokedTokenRetention = 86400000L;
+}
@@ -0,0 +1,39 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Password hashing executor configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Data
+public class PasswordHashingConfig {
+
+    /**
+     * BCrypt cost factor (default: 10)
+     */
+    private Integer strength = 10;
+
+    /**
+     * Hashing threads; 0 means one per available processor
+     */
+    private Integer threads = 0;
+
+    /**
+     * Maximum hashing requests waiting for a thread (default: 256)
+     */
+    private Integer queueCapacity = 256;
+
+    /**
+     * Requests that waited longer than this in the queue are rejected, in milliseconds (default: 2 seconds)
+     */
+    private Long maxQueueWait = 2000L;
+
+    /**
+     * Retry-After value sent with 503 responses, in seconds (default: 2)
+     */
+    private Long retryAfter = 2L;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Student presence (heartbeat) configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.presence")
+@Data
+public class PresenceConfig {
+
+    /**
+     * Time without a heartbeat after which a session is considered disconnected, in milliseconds (default: 30 seconds)
+     */
+    private Long timeout = 30000L;
+
+    /**
+     * Expiry wheel tick, the precision of disconnect detection, in milliseconds (default: 1 second)
+     */
+    private Long tick = 1000L;
+
+    /**
+     * Interval between last-seen snapshots written to exam_session, in milliseconds (default: 1 minute)
+     */
+    private Long snapshotInterval = 60000L;
+}
@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Live proctor monitor configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.proctor-monitor")
+@Data
+public class ProctorMonitorConfig {
+
+    /**
+     * Minimum interval between pushed updates per room, in milliseconds (default: 500)
+     */
+    private Long pushInterval = 500L;
+
+    /**
+     * Interval between keep-alive comments on open streams, in milliseconds (default: 15 seconds)
+     */
+    private Long heartbeatInterval = 15000L;
+
+    /**
+     * Stream timeout in milliseconds after which clients reconnect (default: 30 minutes)
+     */
+    private Long emitterTimeout = 1800000L;
+
+    /**
+     * Time after the last watcher leaves before a room's live state is dropped, in milliseconds (default: 5 minutes)
+     */
+    private Long idleEviction = 300000L;
+}
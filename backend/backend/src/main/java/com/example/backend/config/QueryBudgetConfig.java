@@ -0,0 +1,39 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL query budget configuration properties
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.query-budget")
+@Data
+public class QueryBudgetConfig {
+
+    /**
+     * Count SQL statements per HTTP request (default: true)
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Statements one request may execute before it counts as over budget (default: 30)
+     */
+    private Integer maxStatements = 30;
+
+    /**
+     * A statement shape executed more than this many times in one request is reported as N+1 (default: 5)
+     */
+    private Integer repeatThreshold = 5;
+
+    /**
+     * Minimum time between budget warnings logged for the same endpoint, in milliseconds (default: 1 minute)
+     */
+    private Long logInterval = 60000L;
+
+    /**
+     * Endpoints listed by the querybudget actuator endpoint, worst first (default: 20)
+     */
+    private Integer topOffenders = 20;
+}
@@ -0,0 +1,74 @@
+package com.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit configuration properties.
+ * Anonymous clients are keyed by IP; behind a reverse proxy that IP comes from X-Forwarded-For, which is only
+ * trusted when the proxy matches server.tomcat.remoteip.internal-proxies (see server.forward-headers-strategy).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitConfig {
+
+    /**
+     * Enable request rate limiting (default: true)
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Buckets untouched for this long are evicted, in milliseconds (default: 10 minutes)
+     */
+    private Long idleEviction = 600000L;
+
+    /**
+     * Rules evaluated in order; the first matching rule applies
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        /**
+         * Path pattern relative to the context path, e.g. /exam-sessions/{id}/submit-answer or /auth/**
+         */
+        private String pattern;
+
+        /**
+         * HTTP method to match; empty matches any method
+         */
+        private String method;
+
+        /**
+         * Sustained requests per second per client
+         */
+        private Double permitsPerSecond;
+
+        /**
+         * Requests a client may send in a burst above the sustained rate
+         */
+        private Integer burst = 1;
+
+        /**
+         * JSON body fields holding the submitted username, first present wins; when set, anonymous requests are
+         * keyed by username and client IP, so students behind one NAT do not share a bucket
+         */
+        private List<String> usernameFields = new ArrayList<>();
+
+        /**
+         * Sustained requests per second for all usernames of one client IP together; empty for no IP-wide limit
+         */
+        private Double ipPermitsPerSecond;
+
+        /**
+         * Burst for all usernames of one client IP together
+         */
+        private Integer ipBurst = 1;
+    }
+}
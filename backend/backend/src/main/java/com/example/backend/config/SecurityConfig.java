@@ -1,6 +1,8 @@
 package com.example.backend.config;
 
 import com.example.backend.security.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,17 +34,25 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CorsConfigurationSource corsConfigurationSource;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
+    private final PasswordHashingConfig passwordHashingConfig;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Password encoder bean
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+        // BCrypt runs on its own bounded executor, never on request threads
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(passwordHashingConfig.getStrength()),
+                passwordHashingConfig,
+                meterRegistry
+        );
     }
 
     /**
@@ -88,6 +98,9 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of already authorized requests (SSE streams)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints - explicitly allow POST for auth endpoints
                 .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
                 .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
@@ -97,12 +110,14 @@ public class SecurityConfig {
                 .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/ws/**").permitAll() // WebSocket handshakes authenticate the token themselves
                 .requestMatchers("/admin-init/**").permitAll() // Cho phép khởi tạo admin (CHỈ DÙNG TRONG DEVELOPMENT)
 
                 // Admin only endpoints
                 .requestMatchers(HttpMethod.POST, "/users").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/users/**").hasRole("ADMIN")
                 .requestMatchers("/users/all").hasRole("ADMIN")
+                .requestMatchers("/actuator/querybudget").hasRole("ADMIN")
 
                 // Teacher and Admin endpoints
                 .requestMatchers("/subjects/**").hasAnyRole("ADMIN", "TEACHER")
@@ -142,6 +157,9 @@ public class SecurityConfig {
         // Add JWT filter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Rate limit after authentication so buckets are keyed by user ID when available
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+
         return http.build();
     }
 }
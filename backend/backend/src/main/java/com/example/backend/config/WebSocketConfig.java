@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import com.example.backend.websocket.AnswerSocketHandler;
+import com.example.backend.websocket.AnswerSocketHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.List;
+
+/**
+ * WebSocket endpoint registration
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AnswerSocketHandler answerSocketHandler;
+    private final AnswerSocketHandshakeInterceptor answerSocketHandshakeInterceptor;
+    private final CorsConfig corsConfig;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Same origins as the REST API; the handshake carries no cookies, the token authenticates it
+        List<String> allowedOrigins = corsConfig.getAllowedOrigins() != null ? corsConfig.getAllowedOrigins() : List.of();
+        registry.addHandler(answerSocketHandler, "/ws/exam-sessions/{sessionId}/answers")
+                .addInterceptors(answerSocketHandshakeInterceptor)
+                .setAllowedOrigins(allowedOrigins.toArray(String[]::new));
+    }
+}
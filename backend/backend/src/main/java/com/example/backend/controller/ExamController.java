@@ -2,9 +2,12 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.request.AddQuestionsToExamRequest;
 import com.example.backend.dto.request.CreateExamRequest;
+import com.example.backend.dto.request.ExamBlueprintRequest;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.ExamDetailResponse;
 import com.example.backend.dto.response.ExamResponse;
+import com.example.backend.dto.response.PublishedExamResponse;
+import com.example.backend.service.ExamPackageService;
 import com.example.backend.service.ExamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,6 +18,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +37,7 @@ import org.springframework.web.bind.annotation.*;
 public class ExamController {
 
     private final ExamService examService;
+    private final ExamPackageService examPackageService;
 
     /**
      * Get all exams
@@ -141,6 +149,21 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success("Questions added successfully", exam));
     }
 
+    /**
+     * Generate exam questions from blueprint
+     */
+    @PostMapping("/{id}/generate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(summary = "Generate exam from blueprint",
+            description = "Randomly draw questions from the bank by chapter, type and difficulty")
+    public ResponseEntity<ApiResponse<ExamDetailResponse>> generateExamFromBlueprint(
+            @PathVariable Long id,
+            @Valid @RequestBody ExamBlueprintRequest request
+    ) {
+        ExamDetailResponse exam = examService.generateExamFromBlueprint(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Exam generated successfully", exam));
+    }
+
     /**
      * Remove question from exam
      */
@@ -176,5 +199,85 @@ public class ExamController {
         ExamResponse exam = examService.cloneExam(id);
         return ResponseEntity.ok(ApiResponse.success("Exam cloned successfully", exam));
     }
-}
 
+    /**
+     * Publish exam package
+     */
+    @PostMapping("/{id}/publish")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(summary = "Publish exam",
+            description = "Serialize and compress the exam delivery package once; content is locked until unpublished")
+    public ResponseEntity<ApiResponse<PublishedExamResponse>> publishExam(@PathVariable Long id) {
+        PublishedExamResponse published = examPackageService.publishExam(id);
+        return ResponseEntity.ok(ApiResponse.success("Exam published successfully", published));
+    }
+
+    /**
+     * Unpublish exam package
+     */
+    @DeleteMapping("/{id}/publish")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(summary = "Unpublish exam", description = "Drop the published package so the exam can be edited")
+    public ResponseEntity<ApiResponse<Void>> unpublishExam(@PathVariable Long id) {
+        examPackageService.unpublishExam(id);
+        return ResponseEntity.ok(ApiResponse.success("Exam unpublished successfully"));
+    }
+
+    /**
+     * Get published exam package
+     */
+    @GetMapping("/{id}/package")
+    @Operation(summary = "Get exam package",
+            description = "Get the published exam payload (no correct answers). Supports If-None-Match and gzip")
+    public ResponseEntity<byte[]> getExamPackage(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ExamPackageService.PackageBytes examPackage = examPackageService.getPackage(id);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = "\"" + examPackage.etag() + (gzip ? "-gzip" : "") + "\"";
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (ifNoneMatch != null && matchesEtag(ifNoneMatch, examPackage.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        if (gzip) {
+            return response
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(examPackage.gzip());
+        }
+        return response
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(examPackage.json());
+    }
+
+    /**
+     * Check an If-None-Match header against the package hash (either encoding, weak or strong)
+     */
+    private boolean matchesEtag(String ifNoneMatch, String hash) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("\"" + hash + "\"") || tag.equals("\"" + hash + "-gzip\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.request.AllocateExamRequest;
+import com.example.backend.dto.request.AnnouncementRequest;
+import com.example.backend.dto.request.ExtendTimeRequest;
 import com.example.backend.dto.request.ScheduleExamRequest;
 import com.example.backend.dto.request.SubmitAnswerRequest;
 import com.example.backend.dto.response.*;
+import com.example.backend.service.ExamAllocationService;
 import com.example.backend.service.ExamSessionService;
+import com.example.backend.service.PresenceService;
+import com.example.backend.service.ProctorMonitorService;
+import com.example.backend.service.RoomBroadcastService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,9 +20,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -30,6 +39,10 @@ import java.util.List;
 public class ExamSessionController {
 
     private final ExamSessionService examSessionService;
+    private final ExamAllocationService examAllocationService;
+    private final ProctorMonitorService proctorMonitorService;
+    private final PresenceService presenceService;
+    private final RoomBroadcastService roomBroadcastService;
 
     /**
      * Schedule exam sessions (Admin/Teacher)
@@ -44,6 +57,36 @@ public class ExamSessionController {
         return ResponseEntity.ok(ApiResponse.success("Exam scheduled successfully", sessions));
     }
 
+    /**
+     * Check schedule conflicts (Admin/Teacher)
+     */
+    @PostMapping("/schedule/conflicts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(summary = "Check schedule conflicts",
+            description = "Report students already booked in the time window and exam room over-capacity")
+    public ResponseEntity<ApiResponse<ScheduleConflictResponse>> checkScheduleConflicts(
+            @Valid @RequestBody ScheduleExamRequest request
+    ) {
+        ScheduleConflictResponse conflicts = examSessionService.checkScheduleConflicts(request);
+        return ResponseEntity.ok(ApiResponse.success(conflicts));
+    }
+
+    /**
+     * Allocate a cohort to rooms and time slots (Admin/Teacher)
+     */
+    @PostMapping("/allocate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+    @Operation(summary = "Allocate exam",
+            description = "Assign students to exam rooms and time slots respecting room capacity and student conflicts")
+    public ResponseEntity<ApiResponse<AllocationResponse>> allocateExam(
+            @Valid @RequestBody AllocateExamRequest request
+    ) {
+        AllocationResponse allocation = examAllocationService.allocate(request);
+        String message = Boolean.TRUE.equals(allocation.getDryRun())
+                ? "Allocation computed" : "Exam allocated successfully";
+        return ResponseEntity.ok(ApiResponse.success(message, allocation));
+    }
+
     /**
      * Get my exams (Student)
      */
@@ -72,9 +115,13 @@ public class ExamSessionController {
      */
     @PostMapping("/{id}/start")
     @PreAuthorize("hasRole('STUDENT')")
-    @Operation(summary = "Start exam", description = "Start taking an exam")
-    public ResponseEntity<ApiResponse<TakeExamResponse>> startExam(@PathVariable Long id) {
-        TakeExamResponse exam = examSessionService.startExam(id);
+    @Operation(summary = "Start exam",
+            description = "Start taking an exam; pass the entry ticket from my-exams as X-Exam-Ticket for fast admission")
+    public ResponseEntity<ApiResponse<TakeExamResponse>> startExam(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Exam-Ticket", required = false) String entryTicket
+    ) {
+        TakeExamResponse exam = examSessionService.startExam(id, entryTicket);
         return ResponseEntity.ok(ApiResponse.success("Exam started successfully", exam));
     }
 
@@ -92,6 +139,28 @@ public class ExamSessionController {
         return ResponseEntity.ok(ApiResponse.success("Answer submitted successfully"));
     }
 
+    /**
+     * Heartbeat (Student)
+     */
+    @PostMapping("/{id}/heartbeat")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Heartbeat", description = "Signal that the student is still connected; send every few seconds")
+    public ResponseEntity<Void> heartbeat(@PathVariable Long id) {
+        presenceService.heartbeat(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stream room broadcasts (Student)
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Stream room broadcasts",
+            description = "Server-Sent Events: a connected event, then announcement and time-extended events from proctors")
+    public SseEmitter streamRoomEvents(@PathVariable Long id) {
+        return roomBroadcastService.subscribe(id);
+    }
+
     /**
      * Complete exam (Student)
      */
@@ -123,5 +192,54 @@ public class ExamSessionController {
         examSessionService.reportViolation(id);
         return ResponseEntity.ok(ApiResponse.success("Violation reported"));
     }
-}
 
+    /**
+     * Get live state of an exam room (Admin/Proctor)
+     */
+    @GetMapping("/monitor/rooms/{roomId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROCTOR')")
+    @Operation(summary = "Get room live state", description = "Get live progress of all sessions in an exam room")
+    public ResponseEntity<ApiResponse<RoomMonitorResponse>> getRoomState(@PathVariable Long roomId) {
+        RoomMonitorResponse state = proctorMonitorService.getRoomState(roomId);
+        return ResponseEntity.ok(ApiResponse.success(state));
+    }
+
+    /**
+     * Stream live state of an exam room (Admin/Proctor)
+     */
+    @GetMapping(value = "/monitor/rooms/{roomId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROCTOR')")
+    @Operation(summary = "Stream room live state",
+            description = "Server-Sent Events: a snapshot event, then coalesced update events with changed sessions")
+    public SseEmitter streamRoomState(@PathVariable Long roomId) {
+        return proctorMonitorService.subscribe(roomId);
+    }
+
+    /**
+     * Send an announcement to all students in an exam room (Admin/Proctor)
+     */
+    @PostMapping("/monitor/rooms/{roomId}/announcements")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROCTOR')")
+    @Operation(summary = "Announce to room", description = "Push an announcement to every connected student in an exam room")
+    public ResponseEntity<ApiResponse<RoomBroadcastResponse>> announce(
+            @PathVariable Long roomId,
+            @Valid @RequestBody AnnouncementRequest request
+    ) {
+        RoomBroadcastResponse response = roomBroadcastService.announce(roomId, request);
+        return ResponseEntity.ok(ApiResponse.success("Announcement sent successfully", response));
+    }
+
+    /**
+     * Extend time of all running sessions in an exam room (Admin/Proctor)
+     */
+    @PostMapping("/monitor/rooms/{roomId}/extend-time")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROCTOR')")
+    @Operation(summary = "Extend room time", description = "Extend the end time of every running session in an exam room and notify its students")
+    public ResponseEntity<ApiResponse<RoomBroadcastResponse>> extendTime(
+            @PathVariable Long roomId,
+            @Valid @RequestBody ExtendTimeRequest request
+    ) {
+        RoomBroadcastResponse response = roomBroadcastService.extendTime(roomId, request);
+        return ResponseEntity.ok(ApiResponse.success("Exam time extended successfully", response));
+    }
+}
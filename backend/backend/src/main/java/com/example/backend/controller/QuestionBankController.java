@@ -6,8 +6,10 @@ import com.example.backend.dto.request.CreateQuestionRequest;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.ChapterResponse;
 import com.example.backend.dto.response.PassageResponse;
+import com.example.backend.dto.response.QuestionBankTreeResponse;
 import com.example.backend.dto.response.QuestionResponse;
 import com.example.backend.service.QuestionBankService;
+import com.example.backend.service.QuestionBankTreeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +32,20 @@ import java.util.List;
 public class QuestionBankController {
 
     private final QuestionBankService questionBankService;
+    private final QuestionBankTreeService questionBankTreeService;
+
+    // ==================== TREE ENDPOINTS ====================
+
+    /**
+     * Get question bank tree of a subject
+     */
+    @GetMapping("/subjects/{subjectId}/tree")
+    @Operation(summary = "Get question bank tree",
+            description = "Get chapters, passages and question summaries of a subject with counts in one call")
+    public ResponseEntity<ApiResponse<QuestionBankTreeResponse>> getSubjectTree(@PathVariable Long subjectId) {
+        QuestionBankTreeResponse tree = questionBankTreeService.getSubjectTree(subjectId);
+        return ResponseEntity.ok(ApiResponse.success(tree));
+    }
 
     // ==================== CHAPTER ENDPOINTS ====================
 
@@ -163,11 +179,17 @@ public class QuestionBankController {
      * Get all questions by chapter
      */
     @GetMapping("/chapters/{chapterId}/questions")
-    @Operation(summary = "Get questions by chapter", description = "Get all questions for a chapter")
+    @Operation(summary = "Get questions by chapter",
+            description = "Get questions for a chapter ordered by display order. Pass size (and the last "
+                    + "displayOrder/id seen as afterDisplayOrder/afterId) to page through large chapters")
     public ResponseEntity<ApiResponse<List<QuestionResponse>>> getQuestionsByChapter(
-            @PathVariable Long chapterId
+            @PathVariable Long chapterId,
+            @RequestParam(required = false) Integer afterDisplayOrder,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
     ) {
-        List<QuestionResponse> questions = questionBankService.getQuestionsByChapter(chapterId);
+        List<QuestionResponse> questions = questionBankService.getQuestionsByChapter(
+                chapterId, afterDisplayOrder, afterId, size);
         return ResponseEntity.ok(ApiResponse.success(questions));
     }
 
@@ -175,11 +197,17 @@ public class QuestionBankController {
      * Get all questions by passage
      */
     @GetMapping("/passages/{passageId}/questions")
-    @Operation(summary = "Get questions by passage", description = "Get all questions for a passage")
+    @Operation(summary = "Get questions by passage",
+            description = "Get questions for a passage ordered by display order. Pass size (and the last "
+                    + "displayOrder/id seen as afterDisplayOrder/afterId) to page through large passages")
     public ResponseEntity<ApiResponse<List<QuestionResponse>>> getQuestionsByPassage(
-            @PathVariable Long passageId
+            @PathVariable Long passageId,
+            @RequestParam(required = false) Integer afterDisplayOrder,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
     ) {
-        List<QuestionResponse> questions = questionBankService.getQuestionsByPassage(passageId);
+        List<QuestionResponse> questions = questionBankService.getQuestionsByPassage(
+                passageId, afterDisplayOrder, afterId, size);
         return ResponseEntity.ok(ApiResponse.success(questions));
     }
 
@@ -193,6 +221,16 @@ public class QuestionBankController {
         return ResponseEntity.ok(ApiResponse.success(question));
     }
 
+    /**
+     * Get all versions of a question
+     */
+    @GetMapping("/questions/{id}/versions")
+    @Operation(summary = "Get question versions", description = "Get every version of a question, oldest first")
+    public ResponseEntity<ApiResponse<List<QuestionResponse>>> getQuestionVersions(@PathVariable Long id) {
+        List<QuestionResponse> versions = questionBankService.getQuestionVersions(id);
+        return ResponseEntity.ok(ApiResponse.success(versions));
+    }
+
     /**
      * Create new question with answers for a chapter
      */
@@ -226,7 +264,8 @@ public class QuestionBankController {
      */
     @PutMapping("/questions/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
-    @Operation(summary = "Update question", description = "Update question and answers")
+    @Operation(summary = "Update question",
+            description = "Create a new version of the question; the previous version stays pinned by existing exams")
     public ResponseEntity<ApiResponse<QuestionResponse>> updateQuestion(
             @PathVariable Long id,
             @Valid @RequestBody CreateQuestionRequest request
@@ -240,7 +279,7 @@ public class QuestionBankController {
      */
     @DeleteMapping("/questions/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
-    @Operation(summary = "Delete question", description = "Soft delete a question")
+    @Operation(summary = "Delete question", description = "Soft delete a question; any of its version IDs deletes the current version")
     public ResponseEntity<ApiResponse<Void>> deleteQuestion(@PathVariable Long id) {
         questionBankService.deleteQuestion(id);
         return ResponseEntity.ok(ApiResponse.success("Question deleted successfully"));
@@ -0,0 +1,22 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Flat answer row used by listing queries (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class AnswerProjection {
+
+    private final Long id;
+
+    private final Long questionId;
+
+    private final String content;
+
+    private final Boolean isCorrect;
+
+    private final Integer displayOrder;
+}
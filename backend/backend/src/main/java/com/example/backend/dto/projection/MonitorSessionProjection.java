@@ -0,0 +1,31 @@
+package com.example.backend.dto.projection;
+
+import com.example.backend.enums.ExamSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat exam session row used to seed the live proctor monitor (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class MonitorSessionProjection {
+
+    private final Long sessionId;
+
+    private final Long studentId;
+
+    private final String studentName;
+
+    private final ExamSessionStatus status;
+
+    private final LocalDateTime actualStartTime;
+
+    private final Integer violationCount;
+
+    private final Long answeredCount;
+
+    private final LocalDateTime lastSeenAt;
+}
@@ -0,0 +1,20 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Flat passage row used by the question bank tree (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class PassageSummaryProjection {
+
+    private final Long id;
+
+    private final Long chapterId;
+
+    private final String title;
+
+    private final Integer displayOrder;
+}
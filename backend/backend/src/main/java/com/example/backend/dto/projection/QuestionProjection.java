@@ -0,0 +1,41 @@
+package com.example.backend.dto.projection;
+
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat question row used by listing queries (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionProjection {
+
+    private final Long id;
+
+    private final Long passageId;
+
+    private final QuestionType questionType;
+
+    private final String content;
+
+    private final String explanation;
+
+    private final DifficultyLevel difficultyLevel;
+
+    private final BigDecimal points;
+
+    private final Integer displayOrder;
+
+    private final Boolean isActive;
+
+    private final Integer version;
+
+    private final Long rootQuestionId;
+
+    private final LocalDateTime createdAt;
+}
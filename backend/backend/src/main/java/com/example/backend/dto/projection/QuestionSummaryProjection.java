@@ -0,0 +1,32 @@
+package com.example.backend.dto.projection;
+
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat question summary row used by the question bank tree (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionSummaryProjection {
+
+    private final Long id;
+
+    private final Long passageId;
+
+    private final QuestionType questionType;
+
+    private final DifficultyLevel difficultyLevel;
+
+    private final BigDecimal points;
+
+    private final Integer displayOrder;
+
+    private final Integer version;
+
+    private final String contentPreview;
+}
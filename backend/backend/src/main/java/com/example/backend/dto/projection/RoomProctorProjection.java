@@ -0,0 +1,24 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat proctor assignment row used by exam room listings (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class RoomProctorProjection {
+
+    private final Long examRoomId;
+
+    private final Long proctorId;
+
+    private final String fullName;
+
+    private final String email;
+
+    private final LocalDateTime assignedAt;
+}
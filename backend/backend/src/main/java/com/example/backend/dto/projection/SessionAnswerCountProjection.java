@@ -0,0 +1,16 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Answered question count of one exam session (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class SessionAnswerCountProjection {
+
+    private final Long examSessionId;
+
+    private final Long answered;
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time window of an active exam session used for capacity and conflict checks (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class SessionWindowProjection {
+
+    private final Long sessionId;
+
+    private final Long studentId;
+
+    private final Long examRoomId;
+
+    private final LocalDateTime startTime;
+
+    private final LocalDateTime endTime;
+}
@@ -0,0 +1,18 @@
+package com.example.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Logout cutoff of one user (JPQL constructor expression)
+ */
+@Getter
+@AllArgsConstructor
+public class TokenCutoffProjection {
+
+    private final Long userId;
+
+    private final LocalDateTime revokedBefore;
+}
@@ -0,0 +1,41 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Allocate a student cohort across exam rooms and time slots
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocateExamRequest {
+    
+    @NotNull(message = "Exam ID is required")
+    private Long examId;
+    
+    @NotEmpty(message = "Student IDs are required")
+    private List<Long> studentIds;
+    
+    @NotEmpty(message = "Exam room IDs are required")
+    private List<Long> examRoomIds;
+    
+    /**
+     * Candidate slot start times; each slot lasts the exam duration and slots may not overlap
+     */
+    @NotEmpty(message = "Slot start times are required")
+    private List<LocalDateTime> slotStartTimes;
+    
+    /**
+     * Compute the allocation without creating sessions
+     */
+    private Boolean dryRun;
+}
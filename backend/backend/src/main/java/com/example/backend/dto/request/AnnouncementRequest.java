@@ -0,0 +1,22 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Announcement pushed to every student in an exam room
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementRequest {
+    
+    @NotBlank(message = "Message is required")
+    @Size(max = 1000, message = "Message must not exceed 1000 characters")
+    private String message;
+}
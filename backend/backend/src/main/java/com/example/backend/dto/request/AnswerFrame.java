@@ -0,0 +1,35 @@
+package com.example.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Answer frame sent over the answer WebSocket, e.g. {"seq":12,"q":345,"a":678}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerFrame {
+
+    /**
+     * Sequence number, increasing per connection; echoed in the ack
+     */
+    @JsonProperty("seq")
+    private Long seq;
+
+    @JsonProperty("q")
+    private Long questionId;
+
+    @JsonProperty("a")
+    private Long answerId; // For multiple choice and true/false
+
+    @JsonProperty("t")
+    private String answerText; // For fill-in-blank
+
+    @JsonProperty("s")
+    private Integer timeSpentSeconds;
+}
@@ -0,0 +1,60 @@
+package com.example.backend.dto.request;
+
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Exam blueprint request DTO (how many questions of each kind to draw from the bank)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamBlueprintRequest {
+    
+    @NotEmpty(message = "Blueprint items cannot be empty")
+    @Valid
+    private List<BlueprintItem> items;
+    
+    /**
+     * Blueprint item DTO, e.g. "10 EASY MULTIPLE_CHOICE from chapter 2"
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BlueprintItem {
+        
+        /**
+         * Chapter to draw from, or null for the whole subject
+         */
+        private Long chapterId;
+        
+        @NotNull(message = "Question type is required")
+        private QuestionType questionType;
+        
+        @NotNull(message = "Difficulty level is required")
+        private DifficultyLevel difficultyLevel;
+        
+        @NotNull(message = "Question count is required")
+        @Min(value = 1, message = "Question count must be at least 1")
+        private Integer count;
+        
+        @NotNull(message = "Points are required")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Points must be positive")
+        @Builder.Default
+        private BigDecimal points = BigDecimal.ONE;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Extend the running sessions of an exam room
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtendTimeRequest {
+    
+    @NotNull(message = "Minutes are required")
+    @Min(value = 1, message = "Extension must be at least 1 minute")
+    @Max(value = 240, message = "Extension cannot exceed 240 minutes")
+    private Integer minutes;
+    
+    @Size(max = 500, message = "Reason must not exceed 500 characters")
+    private String reason;
+}
@@ -1,6 +1,5 @@
 package com.example.backend.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +14,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class GoogleSignInRequest {
 
-    @NotBlank(message = "Access token is required")
+    /**
+     * Google ID token (preferred, verified locally)
+     */
+    private String idToken;
+
+    /**
+     * Google OAuth access token (verified through the UserInfo endpoint)
+     */
     private String accessToken;
 }
 
@@ -1,5 +1,8 @@
 package com.example.backend.dto.request;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,5 +33,18 @@ public class ScheduleExamRequest {
     private LocalDateTime startTime;
     
     // End time will be calculated based on exam duration
+    
+    /**
+     * Optional blueprint; when set each student gets a different question subset
+     */
+    @Valid
+    private List<ExamBlueprintRequest.BlueprintItem> blueprint;
+    
+    /**
+     * Max share of variants a single question may appear in (blueprint only)
+     */
+    @DecimalMin(value = "0.0", inclusive = false, message = "Max exposure rate must be positive")
+    @DecimalMax(value = "1.0", message = "Max exposure rate cannot exceed 1")
+    private Double maxExposureRate;
 }
 
@@ -0,0 +1,42 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of a room and time slot allocation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationResponse {
+
+    private Long examId;
+    private Boolean dryRun;
+    private Integer totalStudents;
+    private Integer allocatedCount;
+    private Integer alreadyScheduledCount;
+    private List<Long> unallocatedStudentIds;
+    private List<RoomSlot> roomSlots;
+    private Long elapsedMillis;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomSlot {
+        private Long examRoomId;
+        private String examRoomCode;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private Integer capacity;
+        private Integer occupiedCount;
+        private Integer allocatedCount;
+    }
+}
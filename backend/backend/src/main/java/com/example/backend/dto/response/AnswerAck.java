@@ -0,0 +1,22 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ack of an answer frame, e.g. {"seq":12,"ok":true} or {"seq":13,"ok":false,"error":"Exam time has expired"}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerAck {
+
+    private Long seq;
+
+    private boolean ok;
+
+    private String error;
+}
@@ -0,0 +1,51 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.enums.QuestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published exam package (delivery payload, no correct-answer flags)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamPackageResponse {
+    
+    private Long examId;
+    
+    private String title;
+    
+    private String description;
+    
+    private Integer durationMinutes;
+    
+    private Integer totalQuestions;
+    
+    private BigDecimal totalPoints;
+    
+    private Boolean isShuffled;
+    
+    private Boolean isShuffleAnswers;
+    
+    private List<PackageQuestion> questions;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PackageQuestion {
+        private Long questionId;
+        private String content;
+        private QuestionType questionType;
+        private Integer displayOrder;
+        private BigDecimal points;
+        private List<TakeExamResponse.AnswerOption> answers;
+    }
+}
@@ -59,5 +59,9 @@ public class ExamSessionResponse {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
+    
+    /**
+     * Signed entry ticket for starting the exam (send as X-Exam-Ticket); only on upcoming/active sessions
+     */
+    private String entryTicket;
 }
-
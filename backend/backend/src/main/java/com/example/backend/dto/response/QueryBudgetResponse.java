@@ -0,0 +1,41 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * SQL statements per endpoint since startup or the last reset, worst offenders first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryBudgetResponse {
+
+    private Integer maxStatements;
+    private Integer repeatThreshold;
+    /** Statements of scheduled jobs and batch flushes, which belong to no request */
+    private Long statementsOutsideRequests;
+    private List<EndpointQueries> endpoints;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointQueries {
+        /** HTTP method and route pattern, e.g. POST /exam-sessions/{id}/start */
+        private String endpoint;
+        private Long requests;
+        private Double avgStatements;
+        private Integer maxStatements;
+        private Long overBudget;
+        /** Requests that repeated one statement shape more than the threshold */
+        private Long repeatedStatements;
+        private String worstRepeatedStatement;
+        private Integer worstRepeatCount;
+    }
+}
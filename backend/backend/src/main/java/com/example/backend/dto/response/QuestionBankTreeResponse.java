@@ -0,0 +1,103 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Question bank tree response DTO (Subject -> Chapter -> Passage -> question summary)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionBankTreeResponse {
+    
+    private Long subjectId;
+    
+    private String subjectCode;
+    
+    private String subjectName;
+    
+    private Integer chapterCount;
+    
+    private Integer passageCount;
+    
+    private Integer questionCount;
+    
+    private List<ChapterNode> chapters;
+    
+    /**
+     * Chapter node DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChapterNode {
+        
+        private Long id;
+        
+        private Integer chapterNumber;
+        
+        private String title;
+        
+        private Integer displayOrder;
+        
+        private Integer passageCount;
+        
+        private Integer questionCount;
+        
+        private List<PassageNode> passages;
+    }
+    
+    /**
+     * Passage node DTO
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PassageNode {
+        
+        private Long id;
+        
+        private String title;
+        
+        private Integer displayOrder;
+        
+        private Integer questionCount;
+        
+        private List<QuestionSummary> questions;
+    }
+    
+    /**
+     * Question summary DTO (no answers)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionSummary {
+        
+        private Long id;
+        
+        private QuestionType questionType;
+        
+        private DifficultyLevel difficultyLevel;
+        
+        private BigDecimal points;
+        
+        private Integer displayOrder;
+        
+        private Integer version;
+        
+        private String contentPreview;
+    }
+}
@@ -39,6 +39,16 @@ public class QuestionResponse {
     
     private Boolean isActive;
     
+    private Integer version;
+    
+    private Long rootQuestionId;
+    
+    /**
+     * Whether an edit replaced this version; only set in version listings.
+     * An inactive version that is not superseded is a deleted question.
+     */
+    private Boolean superseded;
+    
     private List<AnswerResponse> answers;
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
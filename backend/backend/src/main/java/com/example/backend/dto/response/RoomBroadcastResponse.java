@@ -0,0 +1,27 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Message pushed to the students of an exam room; also the result returned to the sender
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomBroadcastResponse {
+
+    private Long examRoomId;
+    private String message;
+    /** Minutes added to each running session, for time extensions */
+    private Integer extensionMinutes;
+    private Integer sessionsExtended;
+    private Integer recipients;
+    private String sentBy;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,41 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.enums.ExamSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Live state of an exam room for proctors; update events only carry the sessions that changed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomMonitorResponse {
+
+    private Long examRoomId;
+    private LocalDateTime generatedAt;
+    private List<SessionState> sessions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SessionState {
+        private Long sessionId;
+        private Long studentId;
+        private String studentName;
+        private ExamSessionStatus status;
+        private LocalDateTime startedAt;
+        private Integer answeredCount;
+        private Integer violationCount;
+        private LocalDateTime lastActivityAt;
+        private Boolean online;
+        private LocalDateTime lastSeenAt;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Conflicts of a scheduling request: students already booked in the window and room over-capacity
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictResponse {
+
+    private Long examId;
+    private Long examRoomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer totalStudents;
+    private Boolean hasConflicts;
+    private List<StudentConflict> studentConflicts;
+    private Integer roomCapacity;
+    private Integer roomOccupiedCount;
+    private Boolean roomOverCapacity;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StudentConflict {
+        private Long studentId;
+        /** Conflicting session; null when the student appears twice in the request */
+        private Long sessionId;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the published (pre-serialized) delivery payload of an exam
+ */
+@Entity
+@Table(name = "exam_package",
+       uniqueConstraints = {@UniqueConstraint(name = "uk_exam_package_exam", columnNames = {"exam_id"})})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamPackage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    /**
+     * SHA-256 hex of jsonBytes, used as the HTTP ETag
+     */
+    @Column(name = "etag", nullable = false, length = 64)
+    private String etag;
+
+    @Column(name = "json_bytes", nullable = false, columnDefinition = "bytea")
+    private byte[] jsonBytes;
+
+    @Column(name = "gzip_bytes", nullable = false, columnDefinition = "bytea")
+    private byte[] gzipBytes;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "published_by")
+    private User publishedBy;
+
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (publishedAt == null) {
+            publishedAt = LocalDateTime.now();
+        }
+    }
+}
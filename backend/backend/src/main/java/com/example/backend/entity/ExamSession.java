@@ -87,6 +87,9 @@ public class ExamSession extends BaseEntity {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt;
+
     @Column(name = "graded_at")
     private LocalDateTime gradedAt;
 
@@ -15,7 +15,10 @@ import java.util.List;
  */
 @Entity
 @Table(name = "question",
-       indexes = {@Index(name = "idx_question_passage", columnList = "passage_id")})
+       indexes = {
+           @Index(name = "idx_question_passage", columnList = "passage_id"),
+           @Index(name = "idx_question_root", columnList = "root_question_id")
+       })
 @Getter
 @Setter
 @SuperBuilder
@@ -47,6 +50,19 @@ public class Question extends BaseEntity {
     @Column(name = "display_order", nullable = false)
     private Integer displayOrder;
 
+    /**
+     * Version number; editing a question creates a new row with version + 1
+     */
+    @Column(name = "version", nullable = false)
+    @Builder.Default
+    private Integer version = 1;
+
+    /**
+     * Id of the first version (null for the first version itself)
+     */
+    @Column(name = "root_question_id")
+    private Long rootQuestionId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
@@ -59,6 +75,13 @@ public class Question extends BaseEntity {
     @Builder.Default
     private List<Answer> answers = new ArrayList<>();
 
+    /**
+     * Get id shared by all versions of this question
+     */
+    public Long getRootId() {
+        return rootQuestionId != null ? rootQuestionId : getId();
+    }
+
     /**
      * Add answer to question
      */
@@ -28,8 +28,11 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token", unique = true, nullable = false, length = 500)
-    private String token;
+    /**
+     * SHA-256 hex of the refresh token; the raw JWT is never stored
+     */
+    @Column(name = "token_hash", unique = true, nullable = false, length = 64)
+    private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_users_email", columnList = "email"),
         @Index(name = "idx_users_username", columnList = "username"),
         @Index(name = "idx_users_role", columnList = "role_id"),
-        @Index(name = "idx_users_is_active", columnList = "is_active")
+        @Index(name = "idx_users_is_active", columnList = "is_active"),
+        @Index(name = "idx_users_tokens_revoked_before", columnList = "tokens_revoked_before")
 })
 @Getter
 @Setter
@@ -64,6 +65,9 @@ public class User extends BaseEntity {
     @Column(name = "provider_id")
     private String providerId; // OAuth2 provider user ID
 
+    @Column(name = "tokens_revoked_before")
+    private LocalDateTime tokensRevokedBefore; // Access tokens issued earlier are rejected (set on logout)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
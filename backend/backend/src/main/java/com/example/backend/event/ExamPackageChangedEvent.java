@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when an exam package is published or unpublished
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExamPackageChangedEvent {
+
+    private final Long examId;
+}
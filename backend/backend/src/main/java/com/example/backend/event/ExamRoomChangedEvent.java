@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when an exam room or its proctors change
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExamRoomChangedEvent {
+
+    private final String code;
+}
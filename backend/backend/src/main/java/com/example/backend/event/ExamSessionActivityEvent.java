@@ -0,0 +1,38 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a student starts, answers, violates or completes an exam session,
+ * and when heartbeats of a session begin or stop
+ */
+@Getter
+@RequiredArgsConstructor
+public class ExamSessionActivityEvent {
+
+    /**
+     * Kind of activity
+     */
+    public enum Type {
+        STARTED,
+        ANSWERED,
+        ANSWER_CHANGED,
+        VIOLATION,
+        COMPLETED,
+        CONNECTED,
+        DISCONNECTED
+    }
+
+    private final Long sessionId;
+
+    private final Long examRoomId;
+
+    private final Long studentId;
+
+    private final Type type;
+
+    private final LocalDateTime occurredAt;
+}
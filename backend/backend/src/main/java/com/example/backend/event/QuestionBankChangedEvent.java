@@ -0,0 +1,14 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when chapters, passages or questions of a subject change
+ */
+@Getter
+@RequiredArgsConstructor
+public class QuestionBankChangedEvent {
+
+    private final Long subjectId;
+}
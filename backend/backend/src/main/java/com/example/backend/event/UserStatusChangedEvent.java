@@ -0,0 +1,16 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a user is activated, deactivated or deleted
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserStatusChangedEvent {
+
+    private final Long userId;
+
+    private final boolean active;
+}
@@ -0,0 +1,18 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a user logs out and every token issued before the cutoff is rejected
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserTokensRevokedEvent {
+
+    private final Long userId;
+
+    private final LocalDateTime revokedBefore;
+}
@@ -1,5 +1,7 @@
 package com.example.backend.mapper;
 
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.dto.projection.QuestionProjection;
 import com.example.backend.dto.response.ChapterResponse;
 import com.example.backend.dto.response.PassageResponse;
 import com.example.backend.dto.response.QuestionResponse;
@@ -12,6 +14,10 @@ import com.example.backend.repository.QuestionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -58,7 +64,7 @@ public class QuestionMapper {
                 .content(passage.getContent())
                 .displayOrder(passage.getDisplayOrder())
                 .isActive(passage.getIsActive())
-                .questionCount(questionRepository.countByPassage(passage))
+                .questionCount(questionRepository.countByPassageAndIsActiveTrue(passage))
                 .createdAt(passage.getCreatedAt())
                 .build();
     }
@@ -78,6 +84,8 @@ public class QuestionMapper {
                 .points(question.getPoints())
                 .displayOrder(question.getDisplayOrder())
                 .isActive(question.getIsActive())
+                .version(question.getVersion())
+                .rootQuestionId(question.getRootId())
                 .answers(question.getAnswers().stream()
                         .map(this::toAnswerResponse)
                         .collect(Collectors.toList()))
@@ -85,6 +93,43 @@ public class QuestionMapper {
                 .build();
     }
     
+    /**
+     * Assemble question responses from flat question and answer rows
+     */
+    public List<QuestionResponse> toQuestionResponses(List<QuestionProjection> questions,
+                                                      List<AnswerProjection> answers) {
+        Map<Long, List<QuestionResponse.AnswerResponse>> answersByQuestion = new HashMap<>();
+        for (AnswerProjection answer : answers) {
+            answersByQuestion.computeIfAbsent(answer.getQuestionId(), k -> new ArrayList<>())
+                    .add(QuestionResponse.AnswerResponse.builder()
+                            .id(answer.getId())
+                            .content(answer.getContent())
+                            .isCorrect(answer.getIsCorrect())
+                            .displayOrder(answer.getDisplayOrder())
+                            .build());
+        }
+        
+        List<QuestionResponse> responses = new ArrayList<>(questions.size());
+        for (QuestionProjection question : questions) {
+            responses.add(QuestionResponse.builder()
+                    .id(question.getId())
+                    .passageId(question.getPassageId())
+                    .questionType(question.getQuestionType())
+                    .content(question.getContent())
+                    .explanation(question.getExplanation())
+                    .difficultyLevel(question.getDifficultyLevel())
+                    .points(question.getPoints())
+                    .displayOrder(question.getDisplayOrder())
+                    .isActive(question.getIsActive())
+                    .version(question.getVersion())
+                    .rootQuestionId(question.getRootQuestionId())
+                    .answers(answersByQuestion.getOrDefault(question.getId(), new ArrayList<>()))
+                    .createdAt(question.getCreatedAt())
+                    .build());
+        }
+        return responses;
+    }
+    
     private QuestionResponse.AnswerResponse toAnswerResponse(Answer answer) {
         if (answer == null) {
             return null;
@@ -0,0 +1,32 @@
+package com.example.backend.monitoring;
+
+import com.example.backend.dto.response.QueryBudgetResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint /actuator/querybudget listing the endpoints with the most SQL statements per request
+ */
+@Component
+@Endpoint(id = "querybudget")
+@RequiredArgsConstructor
+public class QueryBudgetEndpoint {
+
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @ReadOperation
+    public QueryBudgetResponse report() {
+        return queryBudgetMonitor.getReport();
+    }
+
+    /**
+     * Start a fresh measurement, e.g. before a load test
+     */
+    @DeleteOperation
+    public void reset() {
+        queryBudgetMonitor.reset();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.monitoring;
+
+import com.example.backend.config.QueryBudgetConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request and reports them to the query budget monitor.
+ * Runs ahead of the security filters, whose token checks may read the database too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetConfig queryBudgetConfig;
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !queryBudgetConfig.getEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestQueries queries = new RequestQueries();
+        request.setAttribute(RequestQueries.ATTRIBUTE, queries);
+        QueryCountListener.begin(queries);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountListener.end();
+            // Requests rejected before reaching a controller have no route pattern and are not aggregated
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                queryBudgetMonitor.record(request.getMethod() + " " + pattern, queries);
+            }
+        }
+    }
+}
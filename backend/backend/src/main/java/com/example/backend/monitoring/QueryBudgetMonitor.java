@@ -0,0 +1,122 @@
+package com.example.backend.monitoring;
+
+import com.example.backend.config.QueryBudgetConfig;
+import com.example.backend.dto.response.QueryBudgetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates statement counts per endpoint and warns about requests over the query budget
+ * or repeating one statement shape (the N+1 signature); warnings are throttled per endpoint
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetMonitor {
+
+    private final QueryBudgetConfig queryBudgetConfig;
+    private final ObjectProvider<QueryCountListener> queryCountListener;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Account the statements of one finished request
+     */
+    public void record(String endpoint, RequestQueries queries) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, k -> new EndpointStats());
+        int statements = queries.getStatements();
+        stats.requests.increment();
+        stats.statements.add(statements);
+        stats.maxStatements.accumulateAndGet(statements, Math::max);
+
+        boolean overBudget = statements > queryBudgetConfig.getMaxStatements();
+        if (overBudget) {
+            stats.overBudget.increment();
+        }
+        Map.Entry<String, Integer> repeated = queries.mostRepeated();
+        boolean nPlusOne = repeated != null && repeated.getValue() > queryBudgetConfig.getRepeatThreshold();
+        if (nPlusOne) {
+            stats.repeatedStatements.increment();
+            stats.recordRepeat(repeated.getKey(), repeated.getValue());
+        }
+
+        if ((overBudget || nPlusOne) && stats.shouldLog(queryBudgetConfig.getLogInterval())) {
+            if (nPlusOne) {
+                log.warn("{} executed {} statements (budget {}), {} times: {}", endpoint, statements,
+                        queryBudgetConfig.getMaxStatements(), repeated.getValue(), repeated.getKey());
+            } else {
+                log.warn("{} executed {} statements (budget {})", endpoint, statements,
+                        queryBudgetConfig.getMaxStatements());
+            }
+        }
+    }
+
+    /**
+     * Endpoints with the most statements in a single request first
+     */
+    public QueryBudgetResponse getReport() {
+        QueryCountListener listener = queryCountListener.getIfAvailable();
+        return QueryBudgetResponse.builder()
+                .maxStatements(queryBudgetConfig.getMaxStatements())
+                .repeatThreshold(queryBudgetConfig.getRepeatThreshold())
+                .statementsOutsideRequests(listener != null ? listener.getOutsideRequests() : null)
+                .endpoints(endpoints.entrySet().stream()
+                        .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                        .sorted(Comparator.comparing(QueryBudgetResponse.EndpointQueries::getMaxStatements).reversed())
+                        .limit(queryBudgetConfig.getTopOffenders())
+                        .toList())
+                .build();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        private final LongAdder overBudget = new LongAdder();
+        private final LongAdder repeatedStatements = new LongAdder();
+        private final AtomicLong lastLogged = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+        private String worstRepeatedStatement;
+        private int worstRepeatCount;
+
+        private synchronized void recordRepeat(String shape, int count) {
+            if (count > worstRepeatCount) {
+                worstRepeatedStatement = shape;
+                worstRepeatCount = count;
+            }
+        }
+
+        private boolean shouldLog(long intervalMillis) {
+            long now = System.nanoTime();
+            long last = lastLogged.get();
+            return now - last >= TimeUnit.MILLISECONDS.toNanos(intervalMillis) && lastLogged.compareAndSet(last, now);
+        }
+
+        private synchronized QueryBudgetResponse.EndpointQueries toResponse(String endpoint) {
+            long count = requests.sum();
+            return QueryBudgetResponse.EndpointQueries.builder()
+                    .endpoint(endpoint)
+                    .requests(count)
+                    .avgStatements(count > 0 ? (double) statements.sum() / count : 0)
+                    .maxStatements(maxStatements.get())
+                    .overBudget(overBudget.sum())
+                    .repeatedStatements(repeatedStatements.sum())
+                    .worstRepeatedStatement(worstRepeatedStatement)
+                    .worstRepeatCount(worstRepeatCount > 0 ? worstRepeatCount : null)
+                    .build();
+        }
+    }
+}
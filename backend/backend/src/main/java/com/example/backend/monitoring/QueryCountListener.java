@@ -0,0 +1,69 @@
+package com.example.backend.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every executed statement into the request the current thread is serving.
+ * Requests stay on one thread from the first filter to the response, so a thread-local scope is enough;
+ * statements of scheduled jobs and batch flushes are only counted in total.
+ */
+public class QueryCountListener implements QueryExecutionListener {
+
+    /**
+     * Hibernate generates a bounded set of SQL strings; past this size new shapes are computed but not cached
+     */
+    private static final int MAX_CACHED_SHAPES = 4096;
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final LongAdder outsideRequests = new LongAdder();
+
+    static void begin(RequestQueries queries) {
+        CURRENT.set(queries);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statements executed outside any HTTP request since startup
+     */
+    long getOutsideRequests() {
+        return outsideRequests.sum();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueries queries = CURRENT.get();
+        if (queries == null) {
+            outsideRequests.increment();
+            return;
+        }
+        // A batch is one round trip and counts once, under the shape of its first statement
+        queries.record(shape(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery()));
+    }
+
+    private String shape(String sql) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = RequestQueries.shape(sql);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+}
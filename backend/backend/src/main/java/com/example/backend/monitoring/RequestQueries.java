@@ -0,0 +1,69 @@
+package com.example.backend.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed while serving one HTTP request, grouped by statement shape.
+ * Only the request thread records into it, so it needs no synchronization.
+ */
+public class RequestQueries {
+
+    static final String ATTRIBUTE = RequestQueries.class.getName();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+
+    /**
+     * Statements of the request, as recorded by the query budget filter; null when counting is disabled
+     */
+    public static RequestQueries of(HttpServletRequest request) {
+        return (RequestQueries) request.getAttribute(ATTRIBUTE);
+    }
+
+    void record(String shape) {
+        statements++;
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    /**
+     * Statements executed; a JDBC batch counts once
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Executions of the given statement shape
+     */
+    public int count(String shape) {
+        return shapes.getOrDefault(shape, 0);
+    }
+
+    /**
+     * Most executed statement shape, or null when nothing ran
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    /**
+     * Statement with literals and IN-list lengths folded, so one query issued for many IDs has one shape
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
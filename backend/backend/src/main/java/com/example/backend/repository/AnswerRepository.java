@@ -1,5 +1,6 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.AnswerProjection;
 import com.example.backend.entity.Answer;
 import com.example.backend.entity.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +33,23 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     @Query("SELECT a FROM Answer a WHERE a.question.id = :questionId AND a.isActive = true ORDER BY a.displayOrder")
     List<Answer> findByQuestionId(@Param("questionId") Long questionId);
     
+    /**
+     * Find answer rows for a set of questions
+     */
+    @Query("SELECT new com.example.backend.dto.projection.AnswerProjection(" +
+           "a.id, a.question.id, a.content, a.isCorrect, a.displayOrder) " +
+           "FROM Answer a WHERE a.question.id IN :questionIds ORDER BY a.question.id, a.displayOrder")
+    List<AnswerProjection> findProjectionsByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    /**
+     * Find active answer rows for a set of questions
+     */
+    @Query("SELECT new com.example.backend.dto.projection.AnswerProjection(" +
+           "a.id, a.question.id, a.content, a.isCorrect, a.displayOrder) " +
+           "FROM Answer a WHERE a.question.id IN :questionIds AND a.isActive = true " +
+           "ORDER BY a.question.id, a.displayOrder")
+    List<AnswerProjection> findActiveProjectionsByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+    
     /**
      * Find correct answers by question
      */
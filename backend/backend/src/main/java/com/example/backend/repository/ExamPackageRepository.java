@@ -0,0 +1,42 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ExamPackage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ExamPackage entity
+ */
+@Repository
+public interface ExamPackageRepository extends JpaRepository<ExamPackage, Long> {
+    
+    /**
+     * Find package by exam id
+     */
+    @Query("SELECT ep FROM ExamPackage ep WHERE ep.exam.id = :examId")
+    Optional<ExamPackage> findByExamId(@Param("examId") Long examId);
+    
+    /**
+     * Get the etag of the exam's package, used to revalidate cached bytes
+     */
+    @Query("SELECT ep.etag FROM ExamPackage ep WHERE ep.exam.id = :examId")
+    Optional<String> findEtagByExamId(@Param("examId") Long examId);
+    
+    /**
+     * Check if exam is published
+     */
+    @Query("SELECT COUNT(ep) > 0 FROM ExamPackage ep WHERE ep.exam.id = :examId")
+    boolean existsByExamId(@Param("examId") Long examId);
+    
+    /**
+     * Delete package by exam id
+     */
+    @Modifying
+    @Query("DELETE FROM ExamPackage ep WHERE ep.exam.id = :examId")
+    int deleteByExamId(@Param("examId") Long examId);
+}
@@ -15,7 +15,7 @@ import java.util.Optional;
  * Repository interface for ExamQuestion entity
  */
 @Repository
-public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long> {
+public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long>, ExamQuestionRepositoryCustom {
     
     /**
      * Find all exam questions by exam
@@ -35,6 +35,24 @@ public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long
     @Query("SELECT eq FROM ExamQuestion eq LEFT JOIN FETCH eq.question WHERE eq.exam.id = :examId ORDER BY eq.displayOrder")
     List<ExamQuestion> findByExamIdWithQuestion(@Param("examId") Long examId);
     
+    /**
+     * Find exam question row ids by exam id in display order
+     */
+    @Query("SELECT eq.id FROM ExamQuestion eq WHERE eq.exam.id = :examId ORDER BY eq.displayOrder")
+    List<Long> findIdsByExamId(@Param("examId") Long examId);
+    
+    /**
+     * Find ids of questions already in exam
+     */
+    @Query("SELECT eq.question.id FROM ExamQuestion eq WHERE eq.exam.id = :examId")
+    List<Long> findQuestionIdsByExamId(@Param("examId") Long examId);
+    
+    /**
+     * Find highest display order in exam (0 when empty)
+     */
+    @Query("SELECT COALESCE(MAX(eq.displayOrder), 0) FROM ExamQuestion eq WHERE eq.exam.id = :examId")
+    int findMaxDisplayOrderByExamId(@Param("examId") Long examId);
+    
     /**
      * Find exam question by exam and question
      */
@@ -0,0 +1,26 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ExamQuestion;
+
+import java.util.List;
+
+/**
+ * Custom bulk operations for ExamQuestion
+ */
+public interface ExamQuestionRepositoryCustom {
+    
+    /**
+     * Insert exam questions with JDBC batching (IDENTITY ids disable Hibernate insert batching)
+     */
+    void batchInsert(List<ExamQuestion> examQuestions);
+    
+    /**
+     * Copy all exam questions of one exam to another with a single INSERT ... SELECT
+     */
+    int copyExamQuestions(Long sourceExamId, Long targetExamId);
+    
+    /**
+     * Set display_order to 1..n following the given row id order in one JDBC batch
+     */
+    void batchUpdateDisplayOrder(List<Long> examQuestionIds);
+}
@@ -0,0 +1,64 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ExamQuestion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of ExamQuestionRepositoryCustom
+ */
+@RequiredArgsConstructor
+public class ExamQuestionRepositoryCustomImpl implements ExamQuestionRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO exam_question (exam_id, question_id, display_order, points, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL =
+            "INSERT INTO exam_question (exam_id, question_id, display_order, points, created_at) " +
+            "SELECT ?, question_id, display_order, points, ? FROM exam_question WHERE exam_id = ?";
+
+    private static final String UPDATE_ORDER_SQL = "UPDATE exam_question SET display_order = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<ExamQuestion> examQuestions) {
+        if (examQuestions.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, examQuestions, BATCH_SIZE, (ps, eq) -> {
+            ps.setLong(1, eq.getExam().getId());
+            ps.setLong(2, eq.getQuestion().getId());
+            ps.setInt(3, eq.getDisplayOrder());
+            ps.setBigDecimal(4, eq.getPoints());
+            ps.setTimestamp(5, eq.getCreatedAt() != null ? Timestamp.valueOf(eq.getCreatedAt()) : now);
+        });
+    }
+
+    @Override
+    public int copyExamQuestions(Long sourceExamId, Long targetExamId) {
+        return jdbcTemplate.update(COPY_SQL, targetExamId, Timestamp.valueOf(LocalDateTime.now()), sourceExamId);
+    }
+
+    @Override
+    public void batchUpdateDisplayOrder(List<Long> examQuestionIds) {
+        if (examQuestionIds.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(examQuestionIds.size());
+        for (int i = 0; i < examQuestionIds.size(); i++) {
+            args.add(new Object[]{i + 1, examQuestionIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ORDER_SQL, args);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -78,6 +79,16 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
      */
     long countBySubject(Subject subject);
     
+    /**
+     * Recalculate total questions and points from exam_question rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE exam SET " +
+                   "total_questions = (SELECT COUNT(*) FROM exam_question eq WHERE eq.exam_id = :examId), " +
+                   "total_points = (SELECT COALESCE(SUM(eq.points), 0) FROM exam_question eq WHERE eq.exam_id = :examId) " +
+                   "WHERE id = :examId", nativeQuery = true)
+    int recalculateTotals(@Param("examId") Long examId);
+    
     /**
      * Find exam by id with subject and createdBy eagerly loaded
      */
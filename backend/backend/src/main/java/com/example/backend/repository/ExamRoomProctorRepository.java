@@ -1,11 +1,15 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.RoomProctorProjection;
 import com.example.backend.entity.ExamRoom;
 import com.example.backend.entity.ExamRoomProctor;
 import com.example.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +29,15 @@ public interface ExamRoomProctorRepository extends JpaRepository<ExamRoomProctor
      */
     List<ExamRoomProctor> findByExamRoomId(Long examRoomId);
     
+    /**
+     * Find proctor assignments with proctor names of several exam rooms in one query
+     */
+    @Query("SELECT new com.example.backend.dto.projection.RoomProctorProjection(" +
+           "erp.examRoom.id, p.id, p.fullName, p.email, erp.assignedAt) " +
+           "FROM ExamRoomProctor erp JOIN erp.proctor p " +
+           "WHERE erp.examRoom.id IN :examRoomIds ORDER BY erp.assignedAt, erp.id")
+    List<RoomProctorProjection> findProctorRowsByExamRoomIds(@Param("examRoomIds") Collection<Long> examRoomIds);
+    
     /**
      * Find all exam rooms by proctor
      */
@@ -40,6 +53,11 @@ public interface ExamRoomProctorRepository extends JpaRepository<ExamRoomProctor
      */
     boolean existsByExamRoomAndProctor(ExamRoom examRoom, User proctor);
     
+    /**
+     * Check if proctor is assigned to exam room by IDs
+     */
+    boolean existsByExamRoomIdAndProctorId(Long examRoomId, Long proctorId);
+    
     /**
      * Delete assignment
      */
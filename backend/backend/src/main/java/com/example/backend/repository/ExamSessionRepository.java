@@ -1,5 +1,7 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.MonitorSessionProjection;
+import com.example.backend.dto.projection.SessionWindowProjection;
 import com.example.backend.entity.Exam;
 import com.example.backend.entity.ExamSession;
 import com.example.backend.entity.User;
@@ -8,11 +10,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +25,7 @@ import java.util.Optional;
  * Repository interface for ExamSession entity
  */
 @Repository
-public interface ExamSessionRepository extends JpaRepository<ExamSession, Long> {
+public interface ExamSessionRepository extends JpaRepository<ExamSession, Long>, ExamSessionRepositoryCustom {
     
     /**
      * Find exam session by ID with relationships
@@ -131,5 +136,76 @@ public interface ExamSessionRepository extends JpaRepository<ExamSession, Long>
     @Query("SELECT COUNT(es) * 100.0 / (SELECT COUNT(es2) FROM ExamSession es2 WHERE es2.exam = :exam AND es2.status = 'COMPLETED') " +
            "FROM ExamSession es WHERE es.exam = :exam AND es.isPassed = true AND es.status = 'COMPLETED'")
     Double getPassRateByExam(@Param("exam") Exam exam);
-}
+    
+    /**
+     * Check if student has a session of exam in given status
+     */
+    @Query("SELECT COUNT(es) > 0 FROM ExamSession es WHERE es.exam.id = :examId " +
+           "AND es.student.id = :studentId AND es.status = :status")
+    boolean existsByExamIdAndStudentIdAndStatus(@Param("examId") Long examId,
+                                                @Param("studentId") Long studentId,
+                                                @Param("status") ExamSessionStatus status);
 
+    /**
+     * For each of the student's sessions of exam in given status, whether it uses its own question variant
+     */
+    @Query("SELECT CASE WHEN es.questionsData IS NOT NULL THEN true ELSE false END FROM ExamSession es " +
+           "WHERE es.exam.id = :examId AND es.student.id = :studentId AND es.status = :status")
+    List<Boolean> findVariantFlags(@Param("examId") Long examId,
+                                   @Param("studentId") Long studentId,
+                                   @Param("status") ExamSessionStatus status);
+
+    /**
+     * Get monitor rows of an exam room's sessions ending after the given time, with answered counts
+     */
+    @Query("SELECT new com.example.backend.dto.projection.MonitorSessionProjection(" +
+           "es.id, st.id, st.fullName, es.status, es.actualStartTime, es.violationCount, " +
+           "(SELECT COUNT(sa) FROM StudentAnswer sa WHERE sa.examSession = es), es.lastSeenAt) " +
+           "FROM ExamSession es JOIN es.student st " +
+           "WHERE es.examRoom.id = :examRoomId AND es.endTime >= :since ORDER BY es.id")
+    List<MonitorSessionProjection> findMonitorRowsByExamRoomId(@Param("examRoomId") Long examRoomId,
+                                                               @Param("since") LocalDateTime since);
+
+    /**
+     * Get windows of active sessions of the given students overlapping [from, to)
+     */
+    @Query("SELECT new com.example.backend.dto.projection.SessionWindowProjection(" +
+           "es.id, es.student.id, es.examRoom.id, es.startTime, es.endTime) " +
+           "FROM ExamSession es WHERE es.student.id IN :studentIds " +
+           "AND es.status IN ('SCHEDULED', 'IN_PROGRESS') AND es.startTime < :to AND es.endTime > :from")
+    List<SessionWindowProjection> findActiveWindowsByStudentIds(@Param("studentIds") Collection<Long> studentIds,
+                                                                @Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to);
+
+    /**
+     * Get windows of active sessions in the given exam rooms overlapping [from, to)
+     */
+    @Query("SELECT new com.example.backend.dto.projection.SessionWindowProjection(" +
+           "es.id, es.student.id, es.examRoom.id, es.startTime, es.endTime) " +
+           "FROM ExamSession es WHERE es.examRoom.id IN :examRoomIds " +
+           "AND es.status IN ('SCHEDULED', 'IN_PROGRESS') AND es.startTime < :to AND es.endTime > :from")
+    List<SessionWindowProjection> findActiveWindowsByExamRoomIds(@Param("examRoomIds") Collection<Long> examRoomIds,
+                                                                 @Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Get students that already have an active session of the exam
+     */
+    @Query("SELECT DISTINCT es.student.id FROM ExamSession es WHERE es.exam.id = :examId " +
+           "AND es.status IN ('SCHEDULED', 'IN_PROGRESS')")
+    List<Long> findActiveStudentIdsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Push back the end time of the room's sessions running at the given time, in one statement
+     *
+     * @return number of sessions extended
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ExamSession es SET es.endTime = timestampadd(minute, :minutes, es.endTime), es.updatedAt = :now " +
+           "WHERE es.examRoom.id = :examRoomId AND es.status IN ('SCHEDULED', 'IN_PROGRESS') " +
+           "AND es.startTime <= :now AND es.endTime > :now")
+    int extendRunningSessions(@Param("examRoomId") Long examRoomId,
+                              @Param("minutes") int minutes,
+                              @Param("now") LocalDateTime now);
+}
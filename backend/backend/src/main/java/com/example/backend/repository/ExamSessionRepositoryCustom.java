@@ -0,0 +1,32 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ExamSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom bulk operations for ExamSession
+ */
+public interface ExamSessionRepositoryCustom {
+    
+    /**
+     * Move SCHEDULED sessions to IN_PROGRESS with their start times in one JDBC batch
+     *
+     * @return number of sessions updated
+     */
+    int batchMarkStarted(Map<Long, LocalDateTime> startTimes);
+    
+    /**
+     * Insert new SCHEDULED sessions in JDBC batches; exam, room and student only need IDs
+     */
+    void batchInsert(List<ExamSession> sessions);
+    
+    /**
+     * Write last heartbeat times in one JDBC batch
+     *
+     * @return number of sessions updated
+     */
+    int batchUpdateLastSeen(Map<Long, LocalDateTime> lastSeen);
+}
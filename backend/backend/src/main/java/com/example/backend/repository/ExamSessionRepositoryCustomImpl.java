@@ -0,0 +1,97 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ExamSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of ExamSessionRepositoryCustom
+ */
+@RequiredArgsConstructor
+public class ExamSessionRepositoryCustomImpl implements ExamSessionRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String MARK_STARTED_SQL =
+            "UPDATE exam_session SET status = 'IN_PROGRESS', actual_start_time = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'SCHEDULED'";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO exam_session (exam_id, exam_room_id, student_id, session_code, start_time, end_time, " +
+            "status, violation_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String LAST_SEEN_SQL = "UPDATE exam_session SET last_seen_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchMarkStarted(Map<Long, LocalDateTime> startTimes) {
+        if (startTimes.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, LocalDateTime>> entries = new ArrayList<>(startTimes.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(MARK_STARTED_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+        });
+
+        return sum(counts);
+    }
+
+    @Override
+    public void batchInsert(List<ExamSession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, sessions, BATCH_SIZE, (ps, session) -> {
+            ps.setLong(1, session.getExam().getId());
+            if (session.getExamRoom() != null) {
+                ps.setLong(2, session.getExamRoom().getId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setLong(3, session.getStudent().getId());
+            ps.setString(4, session.getSessionCode());
+            ps.setTimestamp(5, Timestamp.valueOf(session.getStartTime()));
+            ps.setTimestamp(6, Timestamp.valueOf(session.getEndTime()));
+            ps.setString(7, session.getStatus().name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    @Override
+    public int batchUpdateLastSeen(Map<Long, LocalDateTime> lastSeen) {
+        if (lastSeen.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> entries = new ArrayList<>(lastSeen.entrySet());
+        return sum(jdbcTemplate.batchUpdate(LAST_SEEN_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+            ps.setLong(2, entry.getKey());
+        }));
+    }
+
+    private static int sum(int[][] counts) {
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.PassageSummaryProjection;
 import com.example.backend.entity.Chapter;
 import com.example.backend.entity.Passage;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -37,6 +38,14 @@ public interface PassageRepository extends JpaRepository<Passage, Long> {
     @Query("SELECT p FROM Passage p WHERE p.chapter.subject.id = :subjectId AND p.isActive = true")
     List<Passage> findBySubjectId(@Param("subjectId") Long subjectId);
     
+    /**
+     * Find passage rows of active chapters by subject id
+     */
+    @Query("SELECT new com.example.backend.dto.projection.PassageSummaryProjection(p.id, p.chapter.id, p.title, p.displayOrder) " +
+           "FROM Passage p WHERE p.chapter.subject.id = :subjectId AND p.chapter.isActive = true AND p.isActive = true " +
+           "ORDER BY p.displayOrder, p.id")
+    List<PassageSummaryProjection> findSummariesBySubjectId(@Param("subjectId") Long subjectId);
+    
     /**
      * Count passages by chapter
      */
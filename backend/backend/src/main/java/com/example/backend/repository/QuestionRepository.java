@@ -1,17 +1,22 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.QuestionProjection;
+import com.example.backend.dto.projection.QuestionSummaryProjection;
 import com.example.backend.entity.Passage;
 import com.example.backend.entity.Question;
 import com.example.backend.enums.DifficultyLevel;
 import com.example.backend.enums.QuestionType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Question entity
@@ -19,6 +24,13 @@ import java.util.List;
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     
+    /**
+     * Find a question and lock its row until the transaction ends, so concurrent edits of one version serialize
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM Question q WHERE q.id = :id")
+    Optional<Question> findByIdForUpdate(@Param("id") Long id);
+    
     /**
      * Find all questions by passage
      */
@@ -41,6 +53,58 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("SELECT q FROM Question q WHERE q.passage.chapter.id = :chapterId AND q.isActive = true")
     List<Question> findByChapterId(@Param("chapterId") Long chapterId);
     
+    /**
+     * Find question rows by chapter id, keyset-paginated on (displayOrder, id)
+     */
+    @Query("SELECT new com.example.backend.dto.projection.QuestionProjection(" +
+           "q.id, q.passage.id, q.questionType, q.content, q.explanation, q.difficultyLevel, " +
+           "q.points, q.displayOrder, q.isActive, q.version, COALESCE(q.rootQuestionId, q.id), q.createdAt) " +
+           "FROM Question q WHERE q.passage.chapter.id = :chapterId AND q.isActive = true " +
+           "AND (q.displayOrder > :afterDisplayOrder OR (q.displayOrder = :afterDisplayOrder AND q.id > :afterId)) " +
+           "ORDER BY q.displayOrder, q.id")
+    List<QuestionProjection> findProjectionsByChapterId(@Param("chapterId") Long chapterId,
+                                                        @Param("afterDisplayOrder") Integer afterDisplayOrder,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+    
+    /**
+     * Find question rows by passage id, keyset-paginated on (displayOrder, id)
+     */
+    @Query("SELECT new com.example.backend.dto.projection.QuestionProjection(" +
+           "q.id, q.passage.id, q.questionType, q.content, q.explanation, q.difficultyLevel, " +
+           "q.points, q.displayOrder, q.isActive, q.version, COALESCE(q.rootQuestionId, q.id), q.createdAt) " +
+           "FROM Question q WHERE q.passage.id = :passageId AND q.isActive = true " +
+           "AND (q.displayOrder > :afterDisplayOrder OR (q.displayOrder = :afterDisplayOrder AND q.id > :afterId)) " +
+           "ORDER BY q.displayOrder, q.id")
+    List<QuestionProjection> findProjectionsByPassageId(@Param("passageId") Long passageId,
+                                                        @Param("afterDisplayOrder") Integer afterDisplayOrder,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+    
+    /**
+     * Find all versions of a question by root id
+     */
+    @Query("SELECT q FROM Question q WHERE q.id = :rootId OR q.rootQuestionId = :rootId ORDER BY q.version")
+    List<Question> findVersionsByRootId(@Param("rootId") Long rootId);
+    
+    /**
+     * Find the current version of a question by root id and lock its row until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM Question q WHERE (q.id = :rootId OR q.rootQuestionId = :rootId) AND q.isActive = true")
+    Optional<Question> findCurrentVersionForUpdate(@Param("rootId") Long rootId);
+    
+    /**
+     * Find question summary rows of active passages by subject id (content cut to a preview)
+     */
+    @Query("SELECT new com.example.backend.dto.projection.QuestionSummaryProjection(" +
+           "q.id, q.passage.id, q.questionType, q.difficultyLevel, q.points, q.displayOrder, q.version, " +
+           "SUBSTRING(q.content, 1, 200)) " +
+           "FROM Question q WHERE q.passage.chapter.subject.id = :subjectId " +
+           "AND q.passage.isActive = true AND q.isActive = true " +
+           "ORDER BY q.displayOrder, q.id")
+    List<QuestionSummaryProjection> findSummariesBySubjectId(@Param("subjectId") Long subjectId);
+    
     /**
      * Find all questions by subject id
      */
@@ -73,9 +137,31 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
                                                       @Param("difficultyLevel") DifficultyLevel difficultyLevel);
     
     /**
-     * Count questions by passage
+     * Find active question ids by subject, type and difficulty
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.passage.chapter.subject.id = :subjectId " +
+           "AND q.questionType = :questionType AND q.difficultyLevel = :difficultyLevel AND q.isActive = true " +
+           "ORDER BY q.id")
+    List<Long> findIdsBySubjectAndTypeAndDifficulty(@Param("subjectId") Long subjectId,
+                                                    @Param("questionType") QuestionType questionType,
+                                                    @Param("difficultyLevel") DifficultyLevel difficultyLevel);
+    
+    /**
+     * Find active question ids by chapter (within a subject), type and difficulty
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.passage.chapter.subject.id = :subjectId " +
+           "AND q.passage.chapter.id = :chapterId " +
+           "AND q.questionType = :questionType AND q.difficultyLevel = :difficultyLevel AND q.isActive = true " +
+           "ORDER BY q.id")
+    List<Long> findIdsByChapterAndTypeAndDifficulty(@Param("subjectId") Long subjectId,
+                                                    @Param("chapterId") Long chapterId,
+                                                    @Param("questionType") QuestionType questionType,
+                                                    @Param("difficultyLevel") DifficultyLevel difficultyLevel);
+    
+    /**
+     * Count current question versions by passage
      */
-    long countByPassage(Passage passage);
+    long countByPassageAndIsActiveTrue(Passage passage);
     
     /**
      * Count questions by chapter id
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,9 +20,9 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     
     /**
-     * Find refresh token by token string
+     * Find refresh token by the SHA-256 hash of the token string
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     
     /**
      * Find all tokens by user
@@ -47,10 +48,23 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void deleteExpiredTokens(@Param("now") LocalDateTime now);
     
     /**
-     * Revoke all user tokens
+     * Revoke all user tokens in a single update
      */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true, rt.revokedAt = :now WHERE rt.user = :user AND rt.isRevoked = false")
-    void revokeAllUserTokens(@Param("user") User user, @Param("now") LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true, rt.revokedAt = :now WHERE rt.user.id = :userId AND rt.isRevoked = false")
+    int revokeAllUserTokens(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete one chunk of expired tokens and tokens revoked before the given time
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token WHERE id IN (" +
+                   "SELECT id FROM refresh_token " +
+                   "WHERE expires_at < :now OR (is_revoked = true AND revoked_at < :revokedBefore) " +
+                   "LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredOrRevokedChunk(@Param("now") LocalDateTime now,
+                                    @Param("revokedBefore") LocalDateTime revokedBefore,
+                                    @Param("limit") int limit);
 }
 
@@ -1,5 +1,6 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.SessionAnswerCountProjection;
 import com.example.backend.entity.ExamSession;
 import com.example.backend.entity.Question;
 import com.example.backend.entity.StudentAnswer;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,13 @@ public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Lo
      * Find all answers by exam session
      */
     List<StudentAnswer> findByExamSession(ExamSession examSession);
+
+    /**
+     * Find all answers by exam session with their question and chosen answer
+     */
+    @Query("SELECT sa FROM StudentAnswer sa JOIN FETCH sa.question LEFT JOIN FETCH sa.answer " +
+           "WHERE sa.examSession = :examSession")
+    List<StudentAnswer> findByExamSessionWithQuestionAndAnswer(@Param("examSession") ExamSession examSession);
     
     /**
      * Find answer by exam session and question
@@ -36,6 +45,13 @@ public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Lo
      * Count answered questions in session
      */
     long countByExamSession(ExamSession examSession);
+
+    /**
+     * Count answered questions of several sessions; sessions without answers are absent
+     */
+    @Query("SELECT new com.example.backend.dto.projection.SessionAnswerCountProjection(sa.examSession.id, COUNT(sa)) " +
+           "FROM StudentAnswer sa WHERE sa.examSession.id IN :sessionIds GROUP BY sa.examSession.id")
+    List<SessionAnswerCountProjection> countBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
     
     /**
      * Count correct answers in session
@@ -1,13 +1,17 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.TokenCutoffProjection;
 import com.example.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,6 +72,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role.name = :roleName AND u.isActive = true")
     List<User> findByRoleName(@Param("roleName") String roleName);
     
+    /**
+     * Get IDs among the given ones that belong to users with the role
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.role.name = :roleName")
+    List<Long> findIdsByIdInAndRoleName(@Param("ids") Collection<Long> ids, @Param("roleName") String roleName);
+    
     /**
      * Find all users by role name with pagination
      */
@@ -84,6 +94,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Page<User> findByIsActive(Boolean isActive, Pageable pageable);
     
+    /**
+     * Find IDs of deactivated users
+     */
+    @Query("SELECT u.id FROM User u WHERE u.isActive = false")
+    List<Long> findInactiveUserIds();
+
+    /**
+     * Find token cutoffs set after the given time
+     */
+    @Query("SELECT new com.example.backend.dto.projection.TokenCutoffProjection(u.id, u.tokensRevokedBefore) " +
+           "FROM User u WHERE u.tokensRevokedBefore > :since")
+    List<TokenCutoffProjection> findTokenCutoffsAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Reject access tokens issued to the user before the cutoff
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokensRevokedBefore = :cutoff WHERE u.id = :userId")
+    int revokeTokensIssuedBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+
     /**
      * Search users by keyword (username, email, full name)
      */
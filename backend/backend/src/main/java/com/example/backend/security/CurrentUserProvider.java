@@ -0,0 +1,71 @@
+package com.example.backend.security;
+
+import com.example.backend.entity.User;
+import com.example.backend.exception.UnauthorizedException;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the authenticated user for services.
+ * The User entity is loaded at most once per HTTP request and kept as a request attribute;
+ * callers that only need to set an association can take a reference without any query.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserProvider.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Get principal of the authenticated user
+     */
+    public UserDetailsImpl getCurrentUserDetails() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        return userDetails;
+    }
+
+    /**
+     * Get ID of the authenticated user
+     */
+    public Long getCurrentUserId() {
+        return getCurrentUserDetails().getId();
+    }
+
+    /**
+     * Get authenticated user entity, loaded once per request
+     */
+    public User getCurrentUser() {
+        Long userId = getCurrentUserId();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null
+                && attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cached
+                && userId.equals(cached.getId())) {
+            return cached;
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UnauthorizedException("Current user not found"));
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Get reference to the authenticated user without loading it (for createdBy/updatedBy)
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.backend.security;
+
+import com.example.backend.config.ExamTicketConfig;
+import com.example.backend.config.JwtConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Issues and verifies signed exam entry tickets.
+ * A ticket binds session ID, student ID and the session window, so a start request
+ * carrying one can be authorized without loading the user or the session.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExamTicketService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ExamTicketConfig examTicketConfig;
+    private final JwtConfig jwtConfig;
+
+    private SecretKeySpec key;
+
+    /**
+     * Verified ticket contents
+     */
+    public record ExamTicket(Long sessionId, Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            byte[] keyBytes = StringUtils.hasText(examTicketConfig.getSecret())
+                    ? examTicketConfig.getSecret().getBytes(StandardCharsets.UTF_8)
+                    // Derive a separate key so a ticket can never be confused with a JWT signature
+                    : MessageDigest.getInstance("SHA-256")
+                            .digest(("exam-ticket:" + jwtConfig.getSecret()).getBytes(StandardCharsets.UTF_8));
+            this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize exam ticket key", e);
+        }
+    }
+
+    /**
+     * Issue a ticket for a session window
+     */
+    public String issue(Long sessionId, Long studentId, LocalDateTime startTime, LocalDateTime endTime) {
+        // The expiry is checked against the real clock, so the session end is resolved in the server zone
+        long expiresAt = Math.min(endTime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+                System.currentTimeMillis() / 1000 + examTicketConfig.getTtl() / 1000);
+        String payload = sessionId + "." + studentId + "." + toEpoch(startTime) + "." + toEpoch(endTime)
+                + "." + expiresAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verify a ticket; returns null if it is malformed, forged or expired
+     */
+    public ExamTicket verify(String ticket) {
+        if (!StringUtils.hasText(ticket)) {
+            return null;
+        }
+        try {
+            int dot = ticket.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payloadBytes = decoder.decode(ticket.substring(0, dot));
+            byte[] signature = decoder.decode(ticket.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\.");
+            if (parts.length != 5 || Long.parseLong(parts[4]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return new ExamTicket(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    fromEpoch(Long.parseLong(parts[2])),
+                    fromEpoch(Long.parseLong(parts[3]))
+            );
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed exam ticket: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign exam ticket", e);
+        }
+    }
+
+    // Session times are zone-less LocalDateTime; encode them as-is so they decode to the same values
+    private static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
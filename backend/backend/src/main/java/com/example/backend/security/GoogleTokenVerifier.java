@@ -0,0 +1,80 @@
+package com.example.backend.security;
+
+import com.example.backend.config.GoogleAuthConfig;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+
+/**
+ * Verifies Google credentials for the sign-in endpoint.
+ * ID tokens are checked locally against Google's cached signing keys; access tokens fall back
+ * to the UserInfo endpoint through the pooled client.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GoogleTokenVerifier {
+
+    private final JwtDecoder googleIdTokenDecoder;
+    private final RestClient googleRestClient;
+
+    private final GoogleAuthConfig googleAuthConfig;
+
+    /**
+     * Verify a Google ID token without calling Google (except for JWKS refreshes)
+     */
+    public GoogleOAuth2UserInfo verifyIdToken(String idToken) {
+        Jwt jwt;
+        try {
+            jwt = googleIdTokenDecoder.decode(idToken);
+        } catch (BadJwtException e) {
+            log.warn("Invalid Google ID token: {}", e.getMessage());
+            throw new BadRequestException("Invalid Google ID token");
+        } catch (JwtException e) {
+            // Anything but a bad token means the signing keys could not be fetched
+            log.error("Google ID token could not be verified: {}", e.getMessage());
+            throw new ServiceUnavailableException("Google sign-in is temporarily unavailable", 5);
+        }
+
+        if (!Boolean.TRUE.equals(jwt.getClaimAsBoolean("email_verified"))) {
+            throw new BadRequestException("Google email is not verified");
+        }
+        return new GoogleOAuth2UserInfo(jwt.getClaims());
+    }
+
+    /**
+     * Resolve a Google access token through the UserInfo endpoint
+     */
+    public GoogleOAuth2UserInfo fetchUserInfo(String accessToken) {
+        try {
+            Map<String, Object> userInfo = googleRestClient.get()
+                    .uri(googleAuthConfig.getUserInfoUri())
+                    .headers(headers -> headers.setBearerAuth(accessToken))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {
+                    });
+            if (userInfo == null) {
+                throw new BadRequestException("Failed to get user info from Google");
+            }
+            return new GoogleOAuth2UserInfo(userInfo);
+        } catch (ResourceAccessException e) {
+            log.error("Google UserInfo endpoint unreachable: {}", e.getMessage());
+            throw new ServiceUnavailableException("Google sign-in is temporarily unavailable", 5);
+        } catch (RestClientException e) {
+            log.error("Failed to get user info from Google: {}", e.getMessage());
+            throw new BadRequestException("Invalid Google access token");
+        }
+    }
+}
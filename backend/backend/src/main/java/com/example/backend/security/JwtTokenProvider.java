@@ -1,6 +1,9 @@
 package com.example.backend.security;
 
 import com.example.backend.config.JwtConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -12,7 +15,11 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -26,12 +33,44 @@ public class JwtTokenProvider {
 
     private final JwtConfig jwtConfig;
     private SecretKey secretKey;
+    private JwtParser jwtParser;
+
+    /**
+     * SHA-256 of recently verified tokens -> their claims, each entry expiring with its token
+     */
+    private Cache<String, Claims> verifiedTokens;
 
     @PostConstruct
     public void init() {
         // Initialize the secret key from configuration
         byte[] keyBytes = jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        // Parsers are immutable and thread-safe, build it once
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+
+        // Lock-free reads: every authenticated request goes through this cache
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
@@ -113,24 +152,45 @@ public class JwtTokenProvider {
     /**
      * Get claims from JWT token
      */
-    private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims getClaimsFromToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verify JWT token and return its claims in one pass, or null if it is invalid or expired.
+     * Recently verified tokens are served from a bounded cache until their expiration.
+     */
+    public Claims verifyAndGetClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String key = hashToken(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parseOrNull(token);
+        if (claims != null && claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return parseOrNull(token) != null;
+    }
+
+    /**
+     * Parse and verify JWT token, logging the reason it was rejected
+     */
+    private Claims parseOrNull(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -141,8 +201,22 @@ public class JwtTokenProvider {
             log.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.error("JWT verification failed: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * SHA-256 hex of a token, used wherever tokens are stored or indexed
+     */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
 
     /**
@@ -67,7 +67,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         RefreshToken refreshTokenEntity = RefreshToken.builder()
                 .user(user)
-                .token(refreshToken)
+                .tokenHash(JwtTokenProvider.hashToken(refreshToken))
                 .expiresAt(LocalDateTime.now().plusSeconds(jwtConfig.getRefreshTokenExpiration() / 1000))
                 .ipAddress(request.getRemoteAddr())
                 .userAgent(request.getHeader("User-Agent"))
@@ -0,0 +1,297 @@
+package com.example.backend.security;
+
+import com.example.backend.config.RateLimitConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate Limit Filter
+ * Limits requests per authenticated user (or client IP) with configurable per-route rules.
+ * Login is keyed by the submitted username and client IP, with a looser limit for the IP as a whole.
+ * Each bucket is a single AtomicLong updated by CAS (GCRA, equivalent to a token bucket),
+ * so the hot path takes no locks.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitConfig rateLimitConfig;
+    private final ObjectMapper objectMapper;
+    private final List<CompiledRule> rules;
+
+    /**
+     * Rule index + client key -> theoretical arrival time (nanos)
+     */
+    private final ConcurrentHashMap<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Largest body read to find the username; larger bodies share the IP's anonymous bucket
+     */
+    private static final int MAX_USERNAME_BODY = 4096;
+
+    private record Limit(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        static Limit of(double permitsPerSecond, int burst) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            return new Limit(interval, interval * Math.max(0, burst - 1));
+        }
+    }
+
+    private record CompiledRule(PathPattern pattern, String method, Limit limit, Limit ipLimit, List<String> usernameFields) {
+    }
+
+    /**
+     * Username is null for user- or IP-keyed buckets, "" when a username-keyed request carried none
+     */
+    private record BucketKey(int rule, Long userId, String ip, String username) {
+    }
+
+    public RateLimitFilter(RateLimitConfig rateLimitConfig, ObjectMapper objectMapper) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.objectMapper = objectMapper;
+
+        PathPatternParser parser = new PathPatternParser();
+        this.rules = rateLimitConfig.getRules().stream()
+                .map(rule -> new CompiledRule(
+                        parser.parse(rule.getPattern()),
+                        StringUtils.hasText(rule.getMethod()) ? rule.getMethod().toUpperCase() : null,
+                        Limit.of(rule.getPermitsPerSecond(), rule.getBurst()),
+                        rule.getIpPermitsPerSecond() != null ? Limit.of(rule.getIpPermitsPerSecond(), rule.getIpBurst()) : null,
+                        List.copyOf(rule.getUsernameFields())
+                ))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimitConfig.getEnabled() || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        int ruleIndex = findRule(request);
+        if (ruleIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompiledRule rule = rules.get(ruleIndex);
+        long now = System.nanoTime();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            long waitNanos = acquire(new BucketKey(ruleIndex, userDetails.getId(), null, null), rule.limit(), now);
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String ip = request.getRemoteAddr();
+        String username = null;
+        if (!rule.usernameFields().isEmpty()) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            request = cached;
+            username = readUsername(cached.prefix, cached.truncated, rule.usernameFields());
+        }
+        long waitNanos = acquire(new BucketKey(ruleIndex, null, ip, username), rule.limit(), now);
+        if (waitNanos <= 0 && username != null && rule.ipLimit() != null) {
+            waitNanos = acquire(new BucketKey(ruleIndex, null, ip, null), rule.ipLimit(), now);
+        }
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets that have been idle long enough to be full again
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-eviction:600000}")
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(rateLimitConfig.getIdleEviction());
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() - cutoff < 0);
+        log.debug("Rate limit buckets evicted: {}", before - buckets.size());
+    }
+
+    /**
+     * Try to take one permit; returns 0 when admitted, otherwise nanos until a permit is available
+     */
+    private long acquire(BucketKey key, Limit rule, long now) {
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long base = current - now > 0 ? current : now;
+            // Admit while the backlog ahead of this request fits in the burst tolerance
+            long excess = base - now - rule.burstToleranceNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, base + rule.emissionIntervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    private int findRule(HttpServletRequest request) {
+        PathContainer path = null;
+        String method = request.getMethod();
+        for (int i = 0; i < rules.size(); i++) {
+            CompiledRule rule = rules.get(i);
+            if (rule.method() != null && !rule.method().equals(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (rule.pattern().matches(path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Normalized username from the first present field of a JSON body, or "" when there is none
+     */
+    private String readUsername(byte[] body, boolean truncated, List<String> fields) {
+        if (truncated || body.length == 0) {
+            return "";
+        }
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            for (String field : fields) {
+                JsonNode value = json.path(field);
+                if (value.isTextual() && StringUtils.hasText(value.asText())) {
+                    return value.asText().trim().toLowerCase(Locale.ROOT);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Rate limit could not read username: {}", e.getMessage());
+        }
+        return "";
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limit exceeded: {} {}", request.getMethod(), request.getServletPath());
+
+        response.setStatus(429);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", 429);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, retry after " + retryAfterSeconds + "s");
+        body.put("path", request.getServletPath());
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Request whose body start has been read to find the username and is replayed to the controller
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final boolean truncated;
+        private final ServletInputStream inputStream;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            byte[] head = request.getInputStream().readNBytes(MAX_USERNAME_BODY + 1);
+            this.truncated = head.length > MAX_USERNAME_BODY;
+            this.prefix = head;
+            InputStream replay = truncated
+                    ? new SequenceInputStream(new ByteArrayInputStream(head), request.getInputStream())
+                    : new ByteArrayInputStream(head);
+            this.inputStream = new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return replay.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return replay.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return replay.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(inputStream, charset));
+        }
+    }
+}
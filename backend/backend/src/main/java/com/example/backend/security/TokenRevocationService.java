@@ -0,0 +1,132 @@
+package com.example.backend.security;
+
+import com.example.backend.config.JwtConfig;
+import com.example.backend.event.UserStatusChangedEvent;
+import com.example.backend.event.UserTokensRevokedEvent;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation state consulted on every authenticated request.
+ * Inactive users and logout cutoffs are reloaded from the database periodically; logouts and
+ * committed status changes made on this instance take effect immediately.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final JwtConfig jwtConfig;
+
+    private volatile Set<Long> inactiveUserIds = Set.of();
+
+    /**
+     * User ID -> status change applied locally, kept until a reload is known to include it
+     */
+    private final Map<Long, StatusChange> localStatusChanges = new HashMap<>();
+    private long statusGeneration;
+
+    /**
+     * User ID -> epoch second; tokens issued before it are rejected
+     */
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Check if a token issued to the user at the given time is no longer accepted
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (inactiveUserIds.contains(userId)) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() / 1000 < cutoff);
+    }
+
+    /**
+     * Apply a committed logout cutoff locally without waiting for the next refresh
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTokensRevoked(UserTokensRevokedEvent event) {
+        revokedBefore.merge(event.getUserId(), toEpochSecond(event.getRevokedBefore()), Math::max);
+    }
+
+    /**
+     * Apply a committed user status change locally without waiting for the next refresh
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserStatusChanged(UserStatusChangedEvent event) {
+        localStatusChanges.put(event.getUserId(), new StatusChange(event.isActive(), ++statusGeneration));
+        Set<Long> updated = new HashSet<>(inactiveUserIds);
+        apply(updated, event.getUserId(), event.isActive());
+        inactiveUserIds = Set.copyOf(updated);
+    }
+
+    /**
+     * Reload inactive users and logout cutoffs from the database and drop cutoffs older than any live token
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.jwt.revocation-refresh-interval:30000}")
+    public void refresh() {
+        try {
+            long loadedGeneration;
+            synchronized (this) {
+                loadedGeneration = statusGeneration;
+            }
+            Set<Long> loaded = new HashSet<>(userRepository.findInactiveUserIds());
+            synchronized (this) {
+                // Changes applied before the query started were committed before it and are in the result;
+                // later ones may not be, so they are laid over it until a later reload
+                localStatusChanges.values().removeIf(change -> change.generation() <= loadedGeneration);
+                localStatusChanges.forEach((userId, change) -> apply(loaded, userId, change.active()));
+                inactiveUserIds = Set.copyOf(loaded);
+            }
+
+            long maxLifetimeSeconds = Math.max(jwtConfig.getAccessTokenExpiration(),
+                    jwtConfig.getRefreshTokenExpiration()) / 1000;
+            long oldestLiveIssuedAt = System.currentTimeMillis() / 1000 - maxLifetimeSeconds;
+            // Cutoffs only move forward, so merging cannot undo a newer local logout
+            userRepository.findTokenCutoffsAfter(toLocalDateTime(oldestLiveIssuedAt)).forEach(cutoff ->
+                    revokedBefore.merge(cutoff.getUserId(), toEpochSecond(cutoff.getRevokedBefore()), Math::max));
+            revokedBefore.values().removeIf(cutoff -> cutoff < oldestLiveIssuedAt);
+
+            log.debug("Token revocation state refreshed: {} inactive users, {} revoked users",
+                    loaded.size(), revokedBefore.size());
+        } catch (Exception e) {
+            log.error("Failed to refresh token revocation state", e);
+        }
+    }
+
+    // Cutoffs are stored as zone-less server-local times, like every other timestamp column
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    private static void apply(Set<Long> inactive, Long userId, boolean active) {
+        if (active) {
+            inactive.remove(userId);
+        } else {
+            inactive.add(userId);
+        }
+    }
+
+    private record StatusChange(boolean active, long generation) {
+    }
+}
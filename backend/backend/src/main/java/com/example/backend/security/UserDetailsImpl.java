@@ -2,6 +2,7 @@ package com.example.backend.security;
 
 import com.example.backend.entity.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -57,6 +59,32 @@ public class UserDetailsImpl implements UserDetails {
                 .build();
     }
 
+    /**
+     * Create UserDetailsImpl from verified JWT claims (no database access)
+     */
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        String authorityClaim = claims.get("authorities", String.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        String roleName = null;
+        if (authorityClaim != null && !authorityClaim.isBlank()) {
+            for (String authority : authorityClaim.split(",")) {
+                authorities.add(new SimpleGrantedAuthority(authority));
+                if (roleName == null && authority.startsWith("ROLE_")) {
+                    roleName = authority.substring("ROLE_".length());
+                }
+            }
+        }
+
+        return UserDetailsImpl.builder()
+                .id(claims.get("userId", Long.class))
+                .username(claims.getSubject())
+                .email(claims.get("email", String.class))
+                .roleName(roleName)
+                .isActive(true)
+                .authorities(authorities)
+                .build();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -9,17 +9,22 @@ import com.example.backend.dto.response.UserResponse;
 import com.example.backend.entity.RefreshToken;
 import com.example.backend.entity.Role;
 import com.example.backend.entity.User;
+import com.example.backend.event.UserTokensRevokedEvent;
 import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ServiceUnavailableException;
 import com.example.backend.exception.UnauthorizedException;
 import com.example.backend.mapper.UserMapper;
 import com.example.backend.repository.RefreshTokenRepository;
 import com.example.backend.repository.RoleRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.GoogleOAuth2UserInfo;
+import com.example.backend.security.GoogleTokenVerifier;
 import com.example.backend.security.JwtTokenProvider;
 import com.example.backend.security.UserDetailsImpl;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -27,16 +32,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.Optional;
-import org.springframework.web.client.RestTemplate;
 import com.example.backend.dto.request.GoogleSignInRequest;
 import com.example.backend.exception.ServerException;
 
 /**
- * Service for handling authentication operations
+ * Service for handling authentication operations.
+ * Password hashing and credential checks run before any transaction opens, so callers waiting for a
+ * hashing thread do not hold a database connection; only the resulting writes run in a short transaction.
  */
 @Service
 @RequiredArgsConstructor
@@ -51,11 +58,13 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtConfig jwtConfig;
     private final UserMapper userMapper;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Register a new user
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
 
@@ -69,51 +78,38 @@ public class AuthService {
             throw new BadRequestException("Email is already in use");
         }
 
-        // Get role (default to STUDENT if not specified)
-        String roleName = request.getRole() != null ? request.getRole() : Role.STUDENT;
-        Role role = roleRepository.findByName(roleName)
-                .orElseGet(() -> roleRepository.findByName(Role.STUDENT)
-                        .orElseThrow(() -> new RuntimeException("Default role not found")));
-
-        // Create new user
-        User user = User.builder()
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .fullName(request.getFullName())
-                .phone(request.getPhone())
-                .role(role)
-                .provider("local")
-                .isActive(true)
-                .isVerified(false) // Email verification would be implemented later
-                .build();
-
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully: {}", savedUser.getUsername());
-
-        // Generate tokens
-        UserDetailsImpl userDetails = UserDetailsImpl.build(savedUser);
-        String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
-
-        // Save refresh token
-        saveRefreshToken(savedUser, refreshToken, null);
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            // Get role (default to STUDENT if not specified)
+            String roleName = request.getRole() != null ? request.getRole() : Role.STUDENT;
+            Role role = roleRepository.findByName(roleName)
+                    .orElseGet(() -> roleRepository.findByName(Role.STUDENT)
+                            .orElseThrow(() -> new RuntimeException("Default role not found")));
+
+            // Create new user
+            User user = User.builder()
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .passwordHash(passwordHash)
+                    .fullName(request.getFullName())
+                    .phone(request.getPhone())
+                    .role(role)
+                    .provider("local")
+                    .isActive(true)
+                    .isVerified(false) // Email verification would be implemented later
+                    .build();
 
-        UserResponse userResponse = userMapper.toUserResponse(savedUser);
+            User savedUser = userRepository.save(user);
+            log.info("User registered successfully: {}", savedUser.getUsername());
 
-        return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .tokenType("Bearer")
-                .expiresIn(jwtConfig.getAccessTokenExpiration() / 1000)
-                .user(userResponse)
-                .build();
+            return issueTokens(savedUser, null);
+        });
     }
 
     /**
      * Login user
      */
-    @Transactional
     public AuthResponse login(LoginRequest request, HttpServletRequest httpRequest) {
         log.info("User login attempt: {}", request.getUsernameOrEmail());
 
@@ -128,21 +124,31 @@ public class AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        // Update last login
-        User user = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new UnauthorizedException("User not found"));
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        AuthResponse response = transactionTemplate.execute(status -> {
+            // Update last login
+            User user = userRepository.findById(userDetails.getId())
+                    .orElseThrow(() -> new UnauthorizedException("User not found"));
+            user.setLastLogin(LocalDateTime.now());
+            userRepository.save(user);
+
+            return issueTokens(user, httpRequest);
+        });
+
+        log.info("User logged in successfully: {}", userDetails.getUsername());
+        return response;
+    }
 
-        // Generate tokens
+    /**
+     * Generate access and refresh tokens for user and store the refresh token; runs inside the caller's transaction
+     */
+    private AuthResponse issueTokens(User user, HttpServletRequest httpRequest) {
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
         String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
         String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
 
         // Save refresh token
         saveRefreshToken(user, refreshToken, httpRequest);
 
-        log.info("User logged in successfully: {}", userDetails.getUsername());
-
         UserResponse userResponse = userMapper.toUserResponse(user);
 
         return AuthResponse.builder()
@@ -169,7 +175,7 @@ public class AuthService {
         }
 
         // Find refresh token in database
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(requestRefreshToken)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(JwtTokenProvider.hashToken(requestRefreshToken))
                 .orElseThrow(() -> new UnauthorizedException("Refresh token not found"));
 
         // Check if token is valid
@@ -179,6 +185,9 @@ public class AuthService {
 
         // Generate new access token
         User user = refreshToken.getUser();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new UnauthorizedException("User account is deactivated");
+        }
         UserDetailsImpl userDetails = UserDetailsImpl.build(user);
         String newAccessToken = jwtTokenProvider.generateAccessToken(userDetails);
 
@@ -216,15 +225,13 @@ public class AuthService {
         if (authentication != null && authentication.isAuthenticated()) {
             try {
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId()).orElse(null);
-                if (user != null) {
-                    // Revoke all refresh tokens for this user
-                    refreshTokenRepository.findByUser(user).forEach(token -> {
-                        token.revoke();
-                        refreshTokenRepository.save(token);
-                    });
-                    log.info("All refresh tokens revoked for user: {}", user.getEmail());
-                }
+                // Revoke all refresh tokens for this user
+                LocalDateTime now = LocalDateTime.now();
+                int revoked = refreshTokenRepository.revokeAllUserTokens(userDetails.getId(), now);
+                // Stored so every instance rejects the user's access tokens, not only this one
+                userRepository.revokeTokensIssuedBefore(userDetails.getId(), now);
+                eventPublisher.publishEvent(new UserTokensRevokedEvent(userDetails.getId(), now));
+                log.info("{} refresh tokens revoked for user: {}", revoked, userDetails.getEmail());
             } catch (Exception e) {
                 log.error("Error during logout", e);
             }
@@ -240,7 +247,7 @@ public class AuthService {
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .token(token)
+                .tokenHash(JwtTokenProvider.hashToken(token))
                 .expiresAt(expiryDate)
                 .ipAddress(request != null ? request.getRemoteAddr() : null)
                 .userAgent(request != null ? request.getHeader("User-Agent") : null)
@@ -269,116 +276,102 @@ public class AuthService {
     /**
      * Google Sign In
      */
-    @Transactional
     public AuthResponse googleSignIn(GoogleSignInRequest request) {
         log.info("Google sign in attempt");
 
         try {
-            // Verify Google access token and get user info
-            String accessToken = request.getAccessToken();
-            
-            // Call Google UserInfo API to get user details
-            RestTemplate restTemplate = new RestTemplate();
-            String userInfoUrl = "https://www.googleapis.com/oauth2/v3/userinfo?access_token=" + accessToken;
-            
-            Map<String, Object> userInfo;
-            try {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> response = restTemplate.getForObject(userInfoUrl, Map.class);
-                userInfo = response;
-            } catch (Exception e) {
-                log.error("Failed to get user info from Google", e);
-                throw new BadRequestException("Invalid Google access token");
-            }
-
-            if (userInfo == null) {
-                throw new BadRequestException("Failed to get user info from Google");
+            // Verify the Google credential: ID tokens locally, access tokens via UserInfo
+            GoogleOAuth2UserInfo userInfo;
+            if (StringUtils.hasText(request.getIdToken())) {
+                userInfo = googleTokenVerifier.verifyIdToken(request.getIdToken());
+            } else if (StringUtils.hasText(request.getAccessToken())) {
+                userInfo = googleTokenVerifier.fetchUserInfo(request.getAccessToken());
+            } else {
+                throw new BadRequestException("ID token or access token is required");
             }
 
-            String email = (String) userInfo.get("email");
-            String name = (String) userInfo.get("name");
-            String googleId = (String) userInfo.get("sub");
-            String picture = (String) userInfo.get("picture");
-
+            String email = userInfo.getEmail();
             if (email == null) {
                 throw new BadRequestException("Email not found from Google");
             }
 
-            // Check if user exists
-            User user;
-            Optional<User> existingUser = userRepository.findByEmail(email);
-
-            if (existingUser.isPresent()) {
-                user = existingUser.get();
-                
-                // Update if provider changed or user info changed
-                if (!"google".equals(user.getProvider())) {
-                    throw new BadRequestException(
-                        "This email is already registered with " + user.getProvider() + ". Please use " + user.getProvider() + " to login."
-                    );
-                }
-                
-                // Update user info
-                user.setFullName(name);
-                user.setProviderId(googleId);
-                user.setAvatarUrl(picture);
-                user = userRepository.save(user);
-                
-                log.info("Existing Google user logged in: {}", email);
-            } else {
-                // Create new user
-                Role studentRole = roleRepository.findByName("STUDENT")
-                        .orElseThrow(() -> new RuntimeException("Student role not found"));
-
-                // Generate unique username from email
-                String baseUsername = email.split("@")[0];
-                String username = baseUsername;
-                int counter = 1;
-                while (userRepository.existsByUsername(username)) {
-                    username = baseUsername + counter;
-                    counter++;
-                }
-
-                user = User.builder()
-                        .username(username)
-                        .email(email)
-                        .passwordHash(passwordEncoder.encode(java.util.UUID.randomUUID().toString())) // Random password for OAuth users
-                        .fullName(name)
-                        .provider("google")
-                        .providerId(googleId)
-                        .avatarUrl(picture)
-                        .role(studentRole)
-                        .isActive(true)
-                        .isVerified(true) // Google users are pre-verified
-                        .build();
-
-                user = userRepository.save(user);
-                log.info("New Google user registered: {}", email);
-            }
-
-            // Generate tokens
-            UserDetailsImpl userDetails = UserDetailsImpl.build(user);
-            String jwtAccessToken = jwtTokenProvider.generateAccessToken(userDetails);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+            // New users get a random password; hash it before the transaction opens
+            String randomPasswordHash = userRepository.existsByEmail(email)
+                    ? null : passwordEncoder.encode(java.util.UUID.randomUUID().toString());
 
-            // Save refresh token
-            saveRefreshToken(user, refreshToken, null);
-
-            UserResponse userResponse = userMapper.toUserResponse(user);
-
-            return AuthResponse.builder()
-                    .accessToken(jwtAccessToken)
-                    .refreshToken(refreshToken)
-                    .tokenType("Bearer")
-                    .expiresIn(jwtConfig.getAccessTokenExpiration() / 1000)
-                    .user(userResponse)
-                    .build();
+            return transactionTemplate.execute(status -> signInGoogleUser(userInfo, randomPasswordHash));
 
-        } catch (BadRequestException e) {
+        } catch (BadRequestException | ServiceUnavailableException e) {
             throw e;
         } catch (Exception e) {
             log.error("Google sign in failed", e);
             throw new ServerException("Google sign in failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Update or create the Google user and issue tokens; runs inside a transaction
+     */
+    private AuthResponse signInGoogleUser(GoogleOAuth2UserInfo userInfo, String randomPasswordHash) {
+        String email = userInfo.getEmail();
+        String name = userInfo.getName();
+        String googleId = userInfo.getId();
+        String picture = userInfo.getImageUrl();
+
+        // Check if user exists
+        User user;
+        Optional<User> existingUser = userRepository.findByEmail(email);
+
+        if (existingUser.isPresent()) {
+            user = existingUser.get();
+            
+            // Update if provider changed or user info changed
+            if (!"google".equals(user.getProvider())) {
+                throw new BadRequestException(
+                    "This email is already registered with " + user.getProvider() + ". Please use " + user.getProvider() + " to login."
+                );
+            }
+            
+            // Update user info
+            user.setFullName(name);
+            user.setProviderId(googleId);
+            user.setAvatarUrl(picture);
+            user = userRepository.save(user);
+            
+            log.info("Existing Google user logged in: {}", email);
+        } else {
+            // Create new user
+            Role studentRole = roleRepository.findByName("STUDENT")
+                    .orElseThrow(() -> new RuntimeException("Student role not found"));
+
+            // Generate unique username from email
+            String baseUsername = email.split("@")[0];
+            String username = baseUsername;
+            int counter = 1;
+            while (userRepository.existsByUsername(username)) {
+                username = baseUsername + counter;
+                counter++;
+            }
+
+            user = User.builder()
+                    .username(username)
+                    .email(email)
+                    // Random password for OAuth users; hashed here only if the user vanished since the pre-check
+                    .passwordHash(randomPasswordHash != null
+                            ? randomPasswordHash : passwordEncoder.encode(java.util.UUID.randomUUID().toString()))
+                    .fullName(name)
+                    .provider("google")
+                    .providerId(googleId)
+                    .avatarUrl(picture)
+                    .role(studentRole)
+                    .isActive(true)
+                    .isVerified(true) // Google users are pre-verified
+                    .build();
+
+            user = userRepository.save(user);
+            log.info("New Google user registered: {}", email);
+        }
+
+        return issueTokens(user, null);
+    }
 }
@@ -0,0 +1,215 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.AllocateExamRequest;
+import com.example.backend.dto.response.AllocationResponse;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamRoom;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Role;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ExamRepository;
+import com.example.backend.repository.ExamRoomRepository;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Allocates a student cohort to exam rooms and time slots.
+ * Room capacity and student time conflicts are resolved in memory with a first-fit pass over
+ * (slot, room) bins, checked against a ScheduleConflictService index; the resulting sessions
+ * are written with JDBC batch inserts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamAllocationService {
+
+    private final ExamRepository examRepository;
+    private final ExamRoomRepository examRoomRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final UserRepository userRepository;
+    private final ScheduleConflictService scheduleConflictService;
+
+    /**
+     * Allocate students to rooms and slots, creating SCHEDULED sessions unless dry run
+     */
+    @Transactional
+    public AllocationResponse allocate(AllocateExamRequest request) {
+        long started = System.nanoTime();
+        boolean dryRun = Boolean.TRUE.equals(request.getDryRun());
+
+        Exam exam = examRepository.findById(request.getExamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", request.getExamId()));
+        List<ExamRoom> rooms = loadRooms(request.getExamRoomIds());
+        List<LocalDateTime> slots = request.getSlotStartTimes().stream().distinct().sorted().collect(Collectors.toList());
+        int duration = exam.getDurationMinutes();
+        for (int i = 1; i < slots.size(); i++) {
+            if (slots.get(i).isBefore(slots.get(i - 1).plusMinutes(duration))) {
+                throw new BadRequestException("Time slots overlap: " + slots.get(i - 1) + " and " + slots.get(i));
+            }
+        }
+        LocalDateTime from = slots.get(0);
+        LocalDateTime to = slots.get(slots.size() - 1).plusMinutes(duration);
+
+        Set<Long> studentIds = new LinkedHashSet<>(request.getStudentIds());
+        checkStudents(studentIds);
+        Set<Long> alreadyScheduled = new HashSet<>(examSessionRepository.findActiveStudentIdsByExamId(exam.getId()));
+        List<Long> candidates = studentIds.stream()
+                .filter(id -> !alreadyScheduled.contains(id))
+                .collect(Collectors.toList());
+
+        ScheduleConflictService.ConflictIndex conflicts = scheduleConflictService.load(candidates,
+                rooms.stream().map(ExamRoom::getId).collect(Collectors.toList()), from, to);
+
+        // Bins: remaining seats per (slot, room); rooms are filled largest first
+        int slotCount = slots.size();
+        int roomCount = rooms.size();
+        int[][] occupied = new int[slotCount][roomCount];
+        int[][] remaining = new int[slotCount][roomCount];
+        for (int s = 0; s < slotCount; s++) {
+            for (int r = 0; r < roomCount; r++) {
+                occupied[s][r] = conflicts.countRoomSessions(rooms.get(r).getId(), slots.get(s), slots.get(s).plusMinutes(duration));
+                remaining[s][r] = Math.max(0, rooms.get(r).getCapacity() - occupied[s][r]);
+            }
+        }
+        int[] firstOpenRoom = new int[slotCount];
+        int[][] allocated = new int[slotCount][roomCount];
+
+        // Most constrained students first, so they still find a slot they are free in
+        Map<Long, Integer> busyCounts = new HashMap<>();
+        for (Long studentId : candidates) {
+            busyCounts.put(studentId, conflicts.countStudentSessions(studentId, from, to));
+        }
+        candidates.sort(Comparator.comparing(busyCounts::get).reversed());
+
+        List<ExamSession> sessions = new ArrayList<>(candidates.size());
+        List<Long> unallocated = new ArrayList<>();
+        Set<String> sessionCodes = new HashSet<>();
+        for (Long studentId : candidates) {
+            boolean placed = false;
+            for (int s = 0; s < slotCount && !placed; s++) {
+                while (firstOpenRoom[s] < roomCount && remaining[s][firstOpenRoom[s]] == 0) {
+                    firstOpenRoom[s]++;
+                }
+                LocalDateTime slotStart = slots.get(s);
+                LocalDateTime slotEnd = slotStart.plusMinutes(duration);
+                if (firstOpenRoom[s] == roomCount
+                        || conflicts.findStudentConflict(studentId, slotStart, slotEnd) != null) {
+                    continue;
+                }
+
+                int r = firstOpenRoom[s];
+                remaining[s][r]--;
+                allocated[s][r]++;
+                placed = true;
+                sessions.add(ExamSession.builder()
+                        .exam(exam)
+                        .examRoom(rooms.get(r))
+                        .student(userRepository.getReferenceById(studentId))
+                        .sessionCode(generateSessionCode(sessionCodes))
+                        .startTime(slotStart)
+                        .endTime(slotEnd)
+                        .status(ExamSessionStatus.SCHEDULED)
+                        .violationCount(0)
+                        .build());
+            }
+            if (!placed) {
+                unallocated.add(studentId);
+            }
+        }
+
+        if (!dryRun) {
+            examSessionRepository.batchInsert(sessions);
+        }
+
+        List<AllocationResponse.RoomSlot> roomSlots = new ArrayList<>();
+        for (int s = 0; s < slotCount; s++) {
+            for (int r = 0; r < roomCount; r++) {
+                if (allocated[s][r] > 0 || occupied[s][r] > 0) {
+                    roomSlots.add(AllocationResponse.RoomSlot.builder()
+                            .examRoomId(rooms.get(r).getId())
+                            .examRoomCode(rooms.get(r).getCode())
+                            .startTime(slots.get(s))
+                            .endTime(slots.get(s).plusMinutes(duration))
+                            .capacity(rooms.get(r).getCapacity())
+                            .occupiedCount(occupied[s][r])
+                            .allocatedCount(allocated[s][r])
+                            .build());
+                }
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Allocated {} of {} students for exam {} into {} room slots in {} ms{}",
+                sessions.size(), studentIds.size(), exam.getId(), roomSlots.size(), elapsedMillis, dryRun ? " (dry run)" : "");
+        return AllocationResponse.builder()
+                .examId(exam.getId())
+                .dryRun(dryRun)
+                .totalStudents(studentIds.size())
+                .allocatedCount(sessions.size())
+                .alreadyScheduledCount(studentIds.size() - candidates.size())
+                .unallocatedStudentIds(unallocated)
+                .roomSlots(roomSlots)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private List<ExamRoom> loadRooms(List<Long> examRoomIds) {
+        Set<Long> ids = new LinkedHashSet<>(examRoomIds);
+        Map<Long, ExamRoom> roomsById = examRoomRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ExamRoom::getId, room -> room));
+        List<ExamRoom> rooms = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ExamRoom room = roomsById.get(id);
+            if (room == null) {
+                throw new ResourceNotFoundException("ExamRoom", "id", id);
+            }
+            if (!Boolean.TRUE.equals(room.getIsActive())) {
+                throw new BadRequestException("Exam room is not active: " + room.getCode());
+            }
+            if (room.getCapacity() == null || room.getCapacity() <= 0) {
+                throw new BadRequestException("Exam room has no capacity set: " + room.getCode());
+            }
+            rooms.add(room);
+        }
+        rooms.sort(Comparator.comparing(ExamRoom::getCapacity).reversed());
+        return rooms;
+    }
+
+    private void checkStudents(Set<Long> studentIds) {
+        Set<Long> valid = new HashSet<>(ScheduleConflictService.inChunks(studentIds,
+                chunk -> userRepository.findIdsByIdInAndRoleName(chunk, Role.STUDENT)));
+        if (valid.size() == studentIds.size()) {
+            return;
+        }
+        List<Long> invalid = studentIds.stream()
+                .filter(id -> !valid.contains(id))
+                .limit(20)
+                .collect(Collectors.toList());
+        throw new BadRequestException("Users do not exist or are not students: " + invalid);
+    }
+
+    private static String generateSessionCode(Set<String> used) {
+        String code;
+        do {
+            code = ExamSessionService.generateSessionCode();
+        } while (!used.add(code));
+        return code;
+    }
+}
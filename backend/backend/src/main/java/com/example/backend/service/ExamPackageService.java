@@ -0,0 +1,243 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.response.ExamPackageResponse;
+import com.example.backend.dto.response.PublishedExamResponse;
+import com.example.backend.dto.response.TakeExamResponse;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamPackage;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.Role;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.event.ExamPackageChangedEvent;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.ExamPackageRepository;
+import com.example.backend.repository.ExamQuestionRepository;
+import com.example.backend.repository.ExamRepository;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.security.CurrentUserProvider;
+import com.example.backend.security.UserDetailsImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service for publishing exams as immutable, pre-serialized delivery packages.
+ * The JSON body (ApiResponse envelope included) and its gzip form are produced once at publish time.
+ * Cached bytes are revalidated against the stored etag, so instances never serve a package another one replaced.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamPackageService {
+
+    private final ExamRepository examRepository;
+    private final ExamQuestionRepository examQuestionRepository;
+    private final AnswerRepository answerRepository;
+    private final ExamPackageRepository examPackageRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, PackageBytes> packages = new ConcurrentHashMap<>();
+
+    /**
+     * Serialized package ready to be written to the response
+     */
+    public record PackageBytes(String etag, byte[] json, byte[] gzip) {
+    }
+
+    /**
+     * Publish exam: serialize, compress and store its delivery package
+     */
+    @Transactional
+    public PublishedExamResponse publishExam(Long examId) {
+        log.info("Publishing exam: {}", examId);
+
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+
+        if (examPackageRepository.existsByExamId(examId)) {
+            throw new BadRequestException("Exam is already published");
+        }
+
+        List<ExamQuestion> examQuestions = examQuestionRepository.findByExamIdWithQuestion(examId);
+        if (examQuestions.isEmpty()) {
+            throw new BadRequestException("Cannot publish exam with no questions");
+        }
+
+        byte[] json = serialize(buildPayload(exam, examQuestions));
+        byte[] gzip = gzip(json);
+        String etag = sha256Hex(json);
+
+        ExamPackage examPackage = examPackageRepository.save(ExamPackage.builder()
+                .exam(exam)
+                .etag(etag)
+                .jsonBytes(json)
+                .gzipBytes(gzip)
+                .publishedBy(currentUserProvider.getCurrentUserReference())
+                .build());
+        eventPublisher.publishEvent(new ExamPackageChangedEvent(examId));
+
+        log.info("Exam {} published: {} bytes ({} gzipped), etag {}", examId, json.length, gzip.length, etag);
+        return PublishedExamResponse.builder()
+                .examId(examId)
+                .etag(etag)
+                .size(json.length)
+                .gzipSize(gzip.length)
+                .publishedAt(examPackage.getPublishedAt())
+                .build();
+    }
+
+    /**
+     * Unpublish exam so its content can be edited again
+     */
+    @Transactional
+    public void unpublishExam(Long examId) {
+        log.info("Unpublishing exam: {}", examId);
+
+        if (examPackageRepository.deleteByExamId(examId) == 0) {
+            throw new BadRequestException("Exam is not published");
+        }
+        eventPublisher.publishEvent(new ExamPackageChangedEvent(examId));
+    }
+
+    /**
+     * Check if exam is published
+     */
+    public boolean isPublished(Long examId) {
+        return examPackageRepository.existsByExamId(examId);
+    }
+
+    /**
+     * Get published package; students may only fetch it while taking the exam with the exam's own questions
+     */
+    @Transactional(readOnly = true)
+    public PackageBytes getPackage(Long examId) {
+        UserDetailsImpl userDetails = currentUserProvider.getCurrentUserDetails();
+        if (userDetails.hasRole(Role.STUDENT)) {
+            List<Boolean> variants = examSessionRepository.findVariantFlags(
+                    examId, userDetails.getId(), ExamSessionStatus.IN_PROGRESS);
+            if (variants.isEmpty()) {
+                throw new ForbiddenException("You can only download an exam you are taking");
+            }
+            if (variants.contains(Boolean.TRUE)) {
+                // The package holds the exam-level questions, not the student's variant
+                throw new BadRequestException("Your session has its own question set; load it from the exam session");
+            }
+        }
+
+        String etag = examPackageRepository.findEtagByExamId(examId).orElse(null);
+        if (etag == null) {
+            packages.remove(examId);
+            throw new ResourceNotFoundException("ExamPackage", "examId", examId);
+        }
+        PackageBytes cached = packages.get(examId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        ExamPackage examPackage = examPackageRepository.findByExamId(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExamPackage", "examId", examId));
+        PackageBytes loaded = new PackageBytes(examPackage.getEtag(), examPackage.getJsonBytes(), examPackage.getGzipBytes());
+        packages.put(examId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop cached bytes once a publish or unpublish has committed; a rolled back publish leaves the cache untouched
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamPackageChanged(ExamPackageChangedEvent event) {
+        packages.remove(event.getExamId());
+    }
+
+    private ApiResponse<ExamPackageResponse> buildPayload(Exam exam, List<ExamQuestion> examQuestions) {
+        List<Long> questionIds = examQuestions.stream()
+                .map(eq -> eq.getQuestion().getId())
+                .collect(Collectors.toList());
+
+        Map<Long, List<TakeExamResponse.AnswerOption>> answersByQuestion = new HashMap<>();
+        for (AnswerProjection answer : answerRepository.findProjectionsByQuestionIds(questionIds)) {
+            answersByQuestion.computeIfAbsent(answer.getQuestionId(), k -> new ArrayList<>())
+                    .add(TakeExamResponse.AnswerOption.builder()
+                            .id(answer.getId())
+                            .content(answer.getContent())
+                            .displayOrder(answer.getDisplayOrder())
+                            .build());
+        }
+
+        List<ExamPackageResponse.PackageQuestion> questions = examQuestions.stream()
+                .map(eq -> ExamPackageResponse.PackageQuestion.builder()
+                        .questionId(eq.getQuestion().getId())
+                        .content(eq.getQuestion().getContent())
+                        .questionType(eq.getQuestion().getQuestionType())
+                        .displayOrder(eq.getDisplayOrder())
+                        .points(eq.getPoints())
+                        .answers(answersByQuestion.getOrDefault(eq.getQuestion().getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+
+        return ApiResponse.success(ExamPackageResponse.builder()
+                .examId(exam.getId())
+                .title(exam.getTitle())
+                .description(exam.getDescription())
+                .durationMinutes(exam.getDurationMinutes())
+                .totalQuestions(exam.getTotalQuestions())
+                .totalPoints(exam.getTotalPoints())
+                .isShuffled(exam.getIsShuffled())
+                .isShuffleAnswers(exam.getIsShuffleAnswers())
+                .questions(questions)
+                .build());
+    }
+
+    private byte[] serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize exam package", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.backend.service;
 
+import com.example.backend.config.ExamRoomConfig;
+import com.example.backend.dto.projection.RoomProctorProjection;
 import com.example.backend.dto.request.AssignProctorRequest;
 import com.example.backend.dto.request.CreateExamRoomRequest;
 import com.example.backend.dto.request.UpdateExamRoomRequest;
@@ -7,6 +9,7 @@ import com.example.backend.dto.response.ExamRoomResponse;
 import com.example.backend.entity.ExamRoom;
 import com.example.backend.entity.ExamRoomProctor;
 import com.example.backend.entity.User;
+import com.example.backend.event.ExamRoomChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.ExamRoomProctorRepository;
@@ -14,13 +17,18 @@ import com.example.backend.repository.ExamRoomRepository;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +42,21 @@ public class ExamRoomService {
     private final ExamRoomRepository examRoomRepository;
     private final ExamRoomProctorRepository examRoomProctorRepository;
     private final UserRepository userRepository;
+    private final ExamRoomConfig examRoomConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, CachedRoom> roomsByCode = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every committed change, so a lookup that loaded the old state does not cache it
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Exam room lookup cached by code
+     */
+    private record CachedRoom(ExamRoomResponse response, long expiresAt) {
+    }
 
     /**
      * Get all exam rooms with pagination
@@ -41,7 +64,9 @@ public class ExamRoomService {
     @Transactional(readOnly = true)
     public Page<ExamRoomResponse> getAllExamRooms(Pageable pageable) {
         log.info("Getting all exam rooms with pagination: {}", pageable);
-        return examRoomRepository.findAll(pageable).map(this::mapToResponse);
+        Page<ExamRoom> examRooms = examRoomRepository.findAll(pageable);
+        Map<Long, List<ExamRoomResponse.ProctorInfo>> proctors = loadProctors(examRooms.getContent());
+        return examRooms.map(examRoom -> mapToResponse(examRoom, proctors.getOrDefault(examRoom.getId(), List.of())));
     }
 
     /**
@@ -55,14 +80,39 @@ public class ExamRoomService {
     }
 
     /**
-     * Get exam room by code
+     * Get exam room by code; kiosks poll this, so results are cached for a short time.
+     * Not transactional: a cache hit must not check out a connection.
      */
-    @Transactional(readOnly = true)
     public ExamRoomResponse getExamRoomByCode(String code) {
+        long now = System.currentTimeMillis();
+        CachedRoom cached = roomsByCode.get(code);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.response();
+        }
+
         log.info("Getting exam room by code: {}", code);
+        long loadedAt = generation.get();
         ExamRoom examRoom = examRoomRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam room not found with code: " + code));
-        return mapToResponse(examRoom);
+        ExamRoomResponse response = mapToResponse(examRoom);
+        if (examRoomConfig.getCodeCacheTtl() > 0) {
+            CachedRoom entry = new CachedRoom(response, now + examRoomConfig.getCodeCacheTtl());
+            roomsByCode.put(code, entry);
+            // A change committed while loading may be missing from the response
+            if (generation.get() != loadedAt) {
+                roomsByCode.remove(code, entry);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drop the cached lookup once a room change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExamRoomChanged(ExamRoomChangedEvent event) {
+        generation.incrementAndGet();
+        roomsByCode.remove(event.getCode());
     }
 
     /**
@@ -120,6 +170,7 @@ public class ExamRoomService {
         }
 
         ExamRoom updated = examRoomRepository.save(examRoom);
+        eventPublisher.publishEvent(new ExamRoomChangedEvent(updated.getCode()));
         log.info("Updated exam room with ID: {}", updated.getId());
 
         return mapToResponse(updated);
@@ -134,6 +185,7 @@ public class ExamRoomService {
 
         ExamRoom examRoom = findExamRoomById(id);
         examRoomRepository.delete(examRoom);
+        eventPublisher.publishEvent(new ExamRoomChangedEvent(examRoom.getCode()));
 
         log.info("Deleted exam room with ID: {}", id);
     }
@@ -169,6 +221,7 @@ public class ExamRoomService {
             examRoomProctorRepository.save(examRoomProctor);
         }
 
+        eventPublisher.publishEvent(new ExamRoomChangedEvent(examRoom.getCode()));
         log.info("Assigned {} proctors to exam room ID: {}", request.getProctorIds().size(), examRoomId);
 
         return getExamRoomById(examRoomId);
@@ -186,6 +239,7 @@ public class ExamRoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Proctor not found with ID: " + proctorId));
 
         examRoomProctorRepository.deleteByExamRoomIdAndProctorId(examRoomId, proctorId);
+        eventPublisher.publishEvent(new ExamRoomChangedEvent(examRoom.getCode()));
 
         log.info("Removed proctor ID {} from exam room ID: {}", proctorId, examRoomId);
 
@@ -200,12 +254,35 @@ public class ExamRoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Exam room not found with ID: " + id));
     }
 
+    /**
+     * Load proctors of the given exam rooms in one query, grouped by exam room ID
+     */
+    private Map<Long, List<ExamRoomResponse.ProctorInfo>> loadProctors(List<ExamRoom> examRooms) {
+        if (examRooms.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> examRoomIds = examRooms.stream().map(ExamRoom::getId).collect(Collectors.toList());
+        return examRoomProctorRepository.findProctorRowsByExamRoomIds(examRoomIds).stream()
+                .collect(Collectors.groupingBy(RoomProctorProjection::getExamRoomId,
+                        Collectors.mapping(row -> ExamRoomResponse.ProctorInfo.builder()
+                                .id(row.getProctorId())
+                                .fullName(row.getFullName())
+                                .email(row.getEmail())
+                                .assignedAt(row.getAssignedAt())
+                                .build(), Collectors.toList())));
+    }
+
     /**
      * Map ExamRoom entity to ExamRoomResponse DTO
      */
     private ExamRoomResponse mapToResponse(ExamRoom examRoom) {
-        List<ExamRoomProctor> proctors = examRoomProctorRepository.findByExamRoomId(examRoom.getId());
+        return mapToResponse(examRoom, loadProctors(List.of(examRoom)).getOrDefault(examRoom.getId(), List.of()));
+    }
 
+    /**
+     * Map ExamRoom entity with already loaded proctors to ExamRoomResponse DTO
+     */
+    private ExamRoomResponse mapToResponse(ExamRoom examRoom, List<ExamRoomResponse.ProctorInfo> proctors) {
         return ExamRoomResponse.builder()
                 .id(examRoom.getId())
                 .name(examRoom.getName())
@@ -213,14 +290,7 @@ public class ExamRoomService {
                 .location(examRoom.getLocation())
                 .capacity(examRoom.getCapacity())
                 .description(examRoom.getDescription())
-                .proctors(proctors.stream()
-                        .map(erp -> ExamRoomResponse.ProctorInfo.builder()
-                                .id(erp.getProctor().getId())
-                                .fullName(erp.getProctor().getFullName())
-                                .email(erp.getProctor().getEmail())
-                                .assignedAt(erp.getAssignedAt())
-                                .build())
-                        .collect(Collectors.toList()))
+                .proctors(proctors)
                 .createdAt(examRoom.getCreatedAt())
                 .updatedAt(examRoom.getUpdatedAt())
                 .build();
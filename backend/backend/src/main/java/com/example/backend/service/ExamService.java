@@ -2,6 +2,7 @@ package com.example.backend.service;
 
 import com.example.backend.dto.request.AddQuestionsToExamRequest;
 import com.example.backend.dto.request.CreateExamRequest;
+import com.example.backend.dto.request.ExamBlueprintRequest;
 import com.example.backend.dto.response.ExamDetailResponse;
 import com.example.backend.dto.response.ExamResponse;
 import com.example.backend.entity.*;
@@ -9,19 +10,24 @@ import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.mapper.ExamMapper;
 import com.example.backend.repository.*;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -36,8 +42,10 @@ public class ExamService {
     private final SubjectRepository subjectRepository;
     private final QuestionRepository questionRepository;
     private final ExamQuestionRepository examQuestionRepository;
-    private final UserRepository userRepository;
     private final ExamMapper examMapper;
+    private final QuestionPoolService questionPoolService;
+    private final ExamPackageService examPackageService;
+    private final CurrentUserProvider currentUserProvider;
 
     /**
      * Get all exams
@@ -93,7 +101,7 @@ public class ExamService {
         Subject subject = subjectRepository.findById(request.getSubjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", request.getSubjectId()));
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         Exam exam = Exam.builder()
                 .subject(subject)
@@ -128,6 +136,8 @@ public class ExamService {
         Exam exam = examRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", id));
 
+        ensureNotPublished(id);
+
         if (request.getTitle() != null) {
             exam.setTitle(request.getTitle());
         }
@@ -156,7 +166,7 @@ public class ExamService {
             exam.setAllowReview(request.getAllowReview());
         }
 
-        exam.setUpdatedBy(getCurrentUser());
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         Exam updatedExam = examRepository.save(exam);
 
         log.info("Exam updated successfully: {}", id);
@@ -174,7 +184,7 @@ public class ExamService {
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", id));
 
         exam.setIsActive(false);
-        exam.setUpdatedBy(getCurrentUser());
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         examRepository.save(exam);
 
         log.info("Exam deleted successfully: {}", id);
@@ -190,51 +200,108 @@ public class ExamService {
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
 
-        BigDecimal totalPoints = exam.getTotalPoints();
-        int totalQuestions = exam.getTotalQuestions();
-        int addedCount = 0;
+        ensureNotPublished(examId);
+
+        Set<Long> requestedIds = request.getQuestions().stream()
+                .map(AddQuestionsToExamRequest.ExamQuestionItem::getQuestionId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Question> questionsById = questionRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Question::getId, q -> q));
+        Set<Long> existingIds = new HashSet<>(examQuestionRepository.findQuestionIdsByExamId(examId));
+
+        List<ExamQuestion> examQuestions = new ArrayList<>();
         int skippedCount = 0;
 
         for (var questionItem : request.getQuestions()) {
-            Question question = questionRepository.findById(questionItem.getQuestionId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionItem.getQuestionId()));
+            Question question = questionsById.get(questionItem.getQuestionId());
+            if (question == null) {
+                throw new ResourceNotFoundException("Question", "id", questionItem.getQuestionId());
+            }
 
-            // Check if question already in exam
-            if (examQuestionRepository.existsByExamAndQuestion(exam, question)) {
+            // Check if question already in exam (or repeated in this request)
+            if (!existingIds.add(question.getId())) {
                 log.warn("Question {} already exists in exam {}, skipping", question.getId(), examId);
                 skippedCount++;
                 continue;
             }
 
-            ExamQuestion examQuestion = ExamQuestion.builder()
+            examQuestions.add(ExamQuestion.builder()
                     .exam(exam)
                     .question(question)
                     .displayOrder(questionItem.getDisplayOrder())
                     .points(questionItem.getPoints())
-                    .build();
-
-            examQuestionRepository.save(examQuestion);
-
-            totalPoints = totalPoints.add(questionItem.getPoints());
-            totalQuestions++;
-            addedCount++;
+                    .build());
         }
 
-        if (addedCount == 0 && skippedCount > 0) {
+        if (examQuestions.isEmpty() && skippedCount > 0) {
             throw new BadRequestException("All questions already exist in exam");
         }
 
-        exam.setTotalPoints(totalPoints);
-        exam.setTotalQuestions(totalQuestions);
-        exam.setUpdatedBy(getCurrentUser());
+        examQuestionRepository.batchInsert(examQuestions);
+
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         examRepository.save(exam);
+        Exam updatedExam = recalculateTotals(examId);
 
         if (skippedCount > 0) {
-            log.info("Added {} questions to exam: {}, skipped {} existing questions", addedCount, examId, skippedCount);
+            log.info("Added {} questions to exam: {}, skipped {} existing questions", examQuestions.size(), examId, skippedCount);
         } else {
-            log.info("Added {} questions successfully to exam: {}", addedCount, examId);
+            log.info("Added {} questions successfully to exam: {}", examQuestions.size(), examId);
         }
-        return examMapper.toExamDetailResponse(exam);
+        return examMapper.toExamDetailResponse(updatedExam);
+    }
+
+    /**
+     * Generate exam questions from a blueprint by sampling the question bank
+     */
+    @Transactional
+    public ExamDetailResponse generateExamFromBlueprint(Long examId, ExamBlueprintRequest request) {
+        log.info("Generating questions for exam {} from blueprint with {} items", examId, request.getItems().size());
+
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+
+        ensureNotPublished(examId);
+        Long subjectId = exam.getSubject().getId();
+
+        Set<Long> selected = new HashSet<>(examQuestionRepository.findQuestionIdsByExamId(examId));
+        int displayOrder = examQuestionRepository.findMaxDisplayOrderByExamId(examId);
+        Random random = ThreadLocalRandom.current();
+
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+
+        for (ExamBlueprintRequest.BlueprintItem item : request.getItems()) {
+            long[] pool = questionPoolService.getPool(new QuestionPoolService.PoolKey(
+                    subjectId, item.getChapterId(), item.getQuestionType(), item.getDifficultyLevel()));
+            long[] picked = questionPoolService.sample(pool, item.getCount(), id -> !selected.contains(id), random);
+
+            if (picked.length < item.getCount()) {
+                throw new BadRequestException(String.format(
+                        "Not enough %s %s questions%s: requested %d, available %d",
+                        item.getDifficultyLevel(), item.getQuestionType(),
+                        item.getChapterId() != null ? " in chapter " + item.getChapterId() : "",
+                        item.getCount(), picked.length));
+            }
+
+            for (long questionId : picked) {
+                selected.add(questionId);
+                examQuestions.add(ExamQuestion.builder()
+                        .exam(exam)
+                        .question(questionRepository.getReferenceById(questionId))
+                        .displayOrder(++displayOrder)
+                        .points(item.getPoints())
+                        .build());
+            }
+        }
+
+        examQuestionRepository.batchInsert(examQuestions);
+
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
+        examRepository.save(exam);
+        Exam updatedExam = recalculateTotals(examId);
+
+        log.info("Generated {} questions for exam: {}", examQuestions.size(), examId);
+        return examMapper.toExamDetailResponse(updatedExam);
     }
 
     /**
@@ -247,19 +314,20 @@ public class ExamService {
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
 
+        ensureNotPublished(examId);
+
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionId));
 
         ExamQuestion examQuestion = examQuestionRepository.findByExamAndQuestion(exam, question)
                 .orElseThrow(() -> new BadRequestException("Question not found in exam"));
 
-        exam.setTotalPoints(exam.getTotalPoints().subtract(examQuestion.getPoints()));
-        exam.setTotalQuestions(exam.getTotalQuestions() - 1);
-        exam.setUpdatedBy(getCurrentUser());
-        examRepository.save(exam);
-
         examQuestionRepository.delete(examQuestion);
 
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
+        examRepository.save(exam);
+        recalculateTotals(examId);
+
         log.info("Question removed successfully from exam: {}", examId);
     }
 
@@ -273,22 +341,19 @@ public class ExamService {
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
 
-        List<ExamQuestion> examQuestions = examQuestionRepository.findByExamId(examId);
+        ensureNotPublished(examId);
+
+        List<Long> examQuestionIds = examQuestionRepository.findIdsByExamId(examId);
 
-        if (examQuestions.isEmpty()) {
+        if (examQuestionIds.isEmpty()) {
             throw new BadRequestException("Cannot shuffle exam with no questions");
         }
 
-        // Shuffle the list
-        Collections.shuffle(examQuestions);
-
-        // Update display order
-        for (int i = 0; i < examQuestions.size(); i++) {
-            examQuestions.get(i).setDisplayOrder(i + 1);
-            examQuestionRepository.save(examQuestions.get(i));
-        }
+        // Shuffle the list and write the new display order in one batch
+        Collections.shuffle(examQuestionIds);
+        examQuestionRepository.batchUpdateDisplayOrder(examQuestionIds);
 
-        exam.setUpdatedBy(getCurrentUser());
+        exam.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         examRepository.save(exam);
 
         log.info("Exam shuffled successfully: {}", examId);
@@ -305,7 +370,7 @@ public class ExamService {
         Exam originalExam = examRepository.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         // Create new exam
         Exam clonedExam = Exam.builder()
@@ -313,8 +378,8 @@ public class ExamService {
                 .title(originalExam.getTitle() + " (Copy)")
                 .description(originalExam.getDescription())
                 .durationMinutes(originalExam.getDurationMinutes())
-                .totalQuestions(originalExam.getTotalQuestions())
-                .totalPoints(originalExam.getTotalPoints())
+                .totalQuestions(0)
+                .totalPoints(BigDecimal.ZERO)
                 .passingScore(originalExam.getPassingScore())
                 .examType(originalExam.getExamType())
                 .isShuffled(originalExam.getIsShuffled())
@@ -328,30 +393,29 @@ public class ExamService {
         Exam savedExam = examRepository.save(clonedExam);
 
         // Clone questions
-        List<ExamQuestion> originalQuestions = examQuestionRepository.findByExamId(examId);
-        for (ExamQuestion original : originalQuestions) {
-            ExamQuestion cloned = ExamQuestion.builder()
-                    .exam(savedExam)
-                    .question(original.getQuestion())
-                    .displayOrder(original.getDisplayOrder())
-                    .points(original.getPoints())
-                    .build();
-
-            examQuestionRepository.save(cloned);
-        }
+        int copiedCount = examQuestionRepository.copyExamQuestions(examId, savedExam.getId());
+        Exam updatedExam = recalculateTotals(savedExam.getId());
 
-        log.info("Exam cloned successfully: {} -> {}", examId, savedExam.getId());
-        return examMapper.toExamResponse(savedExam);
+        log.info("Exam cloned successfully: {} -> {} ({} questions)", examId, savedExam.getId(), copiedCount);
+        return examMapper.toExamResponse(updatedExam);
     }
 
     /**
-     * Get current authenticated user
+     * Reject content changes to a published exam
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+    private void ensureNotPublished(Long examId) {
+        if (examPackageService.isPublished(examId)) {
+            throw new BadRequestException("Exam is published; unpublish it before changing its content");
+        }
+    }
+
+    /**
+     * Recalculate exam totals from its questions and reload the exam
+     */
+    private Exam recalculateTotals(Long examId) {
+        examRepository.recalculateTotals(examId);
+        return examRepository.findByIdWithSubject(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
     }
 }
 
@@ -1,30 +1,37 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.dto.projection.SessionAnswerCountProjection;
 import com.example.backend.dto.request.ScheduleExamRequest;
 import com.example.backend.dto.request.SubmitAnswerRequest;
 import com.example.backend.dto.response.*;
 import com.example.backend.entity.*;
 import com.example.backend.enums.ExamSessionStatus;
 import com.example.backend.enums.QuestionType;
+import com.example.backend.event.ExamSessionActivityEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ForbiddenException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.*;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
+import com.example.backend.security.ExamTicketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +51,12 @@ public class ExamSessionService {
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
     private final GradingService gradingService;
+    private final ExamVariantService examVariantService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ExamTicketService examTicketService;
+    private final ExamSessionStartBatcher examSessionStartBatcher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleConflictService scheduleConflictService;
 
     /**
      * Schedule exam sessions for students
@@ -64,44 +77,96 @@ public class ExamSessionService {
         LocalDateTime startTime = request.getStartTime();
         LocalDateTime endTime = startTime.plusMinutes(exam.getDurationMinutes());
 
-        List<ExamSessionResponse> scheduledSessions = new ArrayList<>();
-
+        Map<Long, User> studentsById = userRepository.findAllById(request.getStudentIds()).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        List<User> students = new ArrayList<>();
         for (Long studentId : request.getStudentIds()) {
-            User student = userRepository.findById(studentId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", studentId));
-
+            User student = studentsById.get(studentId);
+            if (student == null) {
+                throw new ResourceNotFoundException("User", "id", studentId);
+            }
             if (!student.isStudent()) {
                 throw new BadRequestException("User is not a student: " + studentId);
             }
+            students.add(student);
+        }
+
+        ScheduleConflictResponse conflicts = scheduleConflictService.detect(
+                exam.getId(), examRoom, request.getStudentIds(), startTime, endTime);
+        if (conflicts.getHasConflicts()) {
+            throw new BadRequestException(describeConflicts(conflicts));
+        }
 
-            String sessionCode = generateSessionCode();
+        List<Map<String, Object>> variants = null;
+        if (request.getBlueprint() != null && !request.getBlueprint().isEmpty()) {
+            variants = examVariantService.generateVariants(exam.getSubject().getId(), request.getBlueprint(),
+                    students.size(), request.getMaxExposureRate());
+        }
 
-            ExamSession session = ExamSession.builder()
+        List<ExamSession> sessions = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            sessions.add(ExamSession.builder()
                     .exam(exam)
                     .examRoom(examRoom)
-                    .student(student)
-                    .sessionCode(sessionCode)
+                    .student(students.get(i))
+                    .sessionCode(generateSessionCode())
                     .startTime(startTime)
                     .endTime(endTime)
                     .status(ExamSessionStatus.SCHEDULED)
+                    .questionsData(variants != null ? variants.get(i) : null)
                     .violationCount(0)
-                    .build();
-
-            ExamSession savedSession = examSessionRepository.save(session);
-            scheduledSessions.add(toExamSessionResponse(savedSession));
+                    .build());
         }
 
+        List<ExamSessionResponse> scheduledSessions = examSessionRepository.saveAll(sessions).stream()
+                .map(session -> toExamSessionResponse(session, 0))
+                .collect(Collectors.toList());
+
         log.info("Scheduled {} exam sessions", scheduledSessions.size());
         return scheduledSessions;
     }
 
+    /**
+     * Report conflicts a schedule request would cause, without scheduling
+     */
+    @Transactional(readOnly = true)
+    public ScheduleConflictResponse checkScheduleConflicts(ScheduleExamRequest request) {
+        Exam exam = examRepository.findById(request.getExamId())
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", request.getExamId()));
+
+        ExamRoom examRoom = null;
+        if (request.getExamRoomId() != null) {
+            examRoom = examRoomRepository.findById(request.getExamRoomId())
+                    .orElseThrow(() -> new ResourceNotFoundException("ExamRoom", "id", request.getExamRoomId()));
+        }
+
+        LocalDateTime startTime = request.getStartTime();
+        return scheduleConflictService.detect(exam.getId(), examRoom, request.getStudentIds(),
+                startTime, startTime.plusMinutes(exam.getDurationMinutes()));
+    }
+
     /**
      * Get student's exams
      */
     public Page<ExamSessionResponse> getMyExams(Pageable pageable) {
-        User currentUser = getCurrentUser();
-        return examSessionRepository.findByStudent(currentUser, pageable)
-                .map(this::toExamSessionResponse);
+        LocalDateTime now = LocalDateTime.now();
+        Page<ExamSession> sessions = examSessionRepository.findByStudent(currentUserProvider.getCurrentUserReference(), pageable);
+        Map<Long, Long> answeredCounts = sessions.isEmpty() ? Map.of()
+                : studentAnswerRepository.countBySessionIds(sessions.map(ExamSession::getId).getContent()).stream()
+                        .collect(Collectors.toMap(SessionAnswerCountProjection::getExamSessionId,
+                                SessionAnswerCountProjection::getAnswered));
+        return sessions
+                .map(session -> {
+                    ExamSessionResponse response = toExamSessionResponse(session,
+                            answeredCounts.getOrDefault(session.getId(), 0L));
+                    if ((session.getStatus() == ExamSessionStatus.SCHEDULED
+                            || session.getStatus() == ExamSessionStatus.IN_PROGRESS)
+                            && now.isBefore(session.getEndTime())) {
+                        response.setEntryTicket(examTicketService.issue(session.getId(),
+                                session.getStudent().getId(), session.getStartTime(), session.getEndTime()));
+                    }
+                    return response;
+                });
     }
 
     /**
@@ -112,7 +177,7 @@ public class ExamSessionService {
                 .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
         
         // Check permission
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!currentUser.isAdmin() && !currentUser.isTeacher() && !currentUser.isProctor()) {
             if (!session.getStudent().getId().equals(currentUser.getId())) {
                 throw new ForbiddenException("You don't have permission to view this exam session");
@@ -122,6 +187,47 @@ public class ExamSessionService {
         return toExamSessionResponse(session);
     }
 
+    /**
+     * Start exam with a signed entry ticket.
+     * The ticket authorizes the student and the time window without loading the user;
+     * the IN_PROGRESS transition is written by ExamSessionStartBatcher.
+     */
+    @Transactional
+    public TakeExamResponse startExam(Long sessionId, String entryTicket) {
+        if (entryTicket == null) {
+            return startExam(sessionId);
+        }
+
+        ExamTicketService.ExamTicket ticket = examTicketService.verify(entryTicket);
+        if (ticket == null || !ticket.sessionId().equals(sessionId)
+                || !ticket.studentId().equals(currentUserProvider.getCurrentUserId())) {
+            throw new ForbiddenException("Invalid or expired exam entry ticket");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(ticket.startTime())) {
+            throw new BadRequestException("Exam has not started yet");
+        }
+        if (now.isAfter(ticket.endTime())) {
+            // Expiry and auto-complete handling lives in the regular path
+            return startExam(sessionId);
+        }
+
+        ExamSession session = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+
+        switch (session.getStatus()) {
+            case SCHEDULED -> publishActivity(session, ExamSessionActivityEvent.Type.STARTED,
+                    examSessionStartBatcher.markStarted(sessionId, now));
+            case IN_PROGRESS -> log.info("Exam session already in progress, returning exam data: {}", sessionId);
+            case COMPLETED -> throw new BadRequestException("Exam already completed");
+            case CANCELLED -> throw new BadRequestException("Exam has been cancelled");
+            case MISSED -> throw new BadRequestException("Exam time has passed");
+        }
+
+        return buildTakeExamResponse(session);
+    }
+
     /**
      * Start exam
      */
@@ -131,9 +237,10 @@ public class ExamSessionService {
 
         ExamSession session = examSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+        examSessionStartBatcher.applyPending(session);
 
         // Verify student
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!session.getStudent().getId().equals(currentUser.getId())) {
             throw new ForbiddenException("This exam session is not assigned to you");
         }
@@ -180,6 +287,7 @@ public class ExamSessionService {
         session.setActualStartTime(now);
         session.setStatus(ExamSessionStatus.IN_PROGRESS);
         examSessionRepository.save(session);
+        publishActivity(session, ExamSessionActivityEvent.Type.STARTED, now);
 
         log.info("Exam session started: {}", sessionId);
         return buildTakeExamResponse(session);
@@ -192,10 +300,10 @@ public class ExamSessionService {
     public void submitAnswer(Long sessionId, SubmitAnswerRequest request) {
         ExamSession session = examSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+        examSessionStartBatcher.applyPending(session);
 
-        // Verify student
-        User currentUser = getCurrentUser();
-        if (!session.getStudent().getId().equals(currentUser.getId())) {
+        // Verify student; the ID from the principal is enough, autosaves run without a user lookup
+        if (!session.getStudent().getId().equals(currentUserProvider.getCurrentUserId())) {
             throw new ForbiddenException("This exam session is not assigned to you");
         }
 
@@ -217,6 +325,11 @@ public class ExamSessionService {
             throw new BadRequestException("Exam is not in progress");
         }
 
+        Map<Long, BigDecimal> variantQuestions = examVariantService.getVariantQuestions(session);
+        if (!variantQuestions.isEmpty() && !variantQuestions.containsKey(request.getQuestionId())) {
+            throw new BadRequestException("Question is not part of this exam session");
+        }
+
         Question question = questionRepository.findById(request.getQuestionId())
                 .orElseThrow(() -> new ResourceNotFoundException("Question", "id", request.getQuestionId()));
 
@@ -250,6 +363,7 @@ public class ExamSessionService {
             }
             existingAnswer.setTimeSpentSeconds(request.getTimeSpentSeconds());
             studentAnswerRepository.save(existingAnswer);
+            publishActivity(session, ExamSessionActivityEvent.Type.ANSWER_CHANGED, now);
         } else {
             // Create new answer
             StudentAnswer.StudentAnswerBuilder builder = StudentAnswer.builder()
@@ -270,6 +384,7 @@ public class ExamSessionService {
             }
 
             studentAnswerRepository.save(builder.build());
+            publishActivity(session, ExamSessionActivityEvent.Type.ANSWERED, now);
         }
 
         log.debug("Answer submitted for session: {}, question: {}", sessionId, request.getQuestionId());
@@ -284,9 +399,10 @@ public class ExamSessionService {
 
         ExamSession session = examSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+        examSessionStartBatcher.applyPending(session);
 
         // Verify student
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!session.getStudent().getId().equals(currentUser.getId())) {
             throw new ForbiddenException("This exam session is not assigned to you");
         }
@@ -306,6 +422,7 @@ public class ExamSessionService {
         gradingService.gradeExamSession(session);
 
         examSessionRepository.save(session);
+        publishActivity(session, ExamSessionActivityEvent.Type.COMPLETED, session.getActualEndTime());
 
         log.info("Exam session completed and graded: {}", sessionId);
         return buildExamResultResponse(session);
@@ -319,7 +436,7 @@ public class ExamSessionService {
                 .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
 
         // Verify permission
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!currentUser.isAdmin() && !currentUser.isTeacher() && !currentUser.isProctor()) {
             if (!session.getStudent().getId().equals(currentUser.getId())) {
                 throw new ForbiddenException("You don't have permission to view this result");
@@ -343,53 +460,109 @@ public class ExamSessionService {
 
         session.incrementViolation();
         examSessionRepository.save(session);
+        publishActivity(session, ExamSessionActivityEvent.Type.VIOLATION, LocalDateTime.now());
 
         log.warn("Violation reported for session: {}", sessionId);
     }
 
     // ==================== Helper Methods ====================
 
-    private String generateSessionCode() {
-        return "EXAM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private String describeConflicts(ScheduleConflictResponse conflicts) {
+        StringBuilder message = new StringBuilder("Schedule conflicts");
+        if (!conflicts.getStudentConflicts().isEmpty()) {
+            message.append(": ").append(conflicts.getStudentConflicts().size())
+                    .append(" students already have a session in this time window, e.g. student IDs ")
+                    .append(conflicts.getStudentConflicts().stream()
+                            .limit(10)
+                            .map(c -> String.valueOf(c.getStudentId()))
+                            .collect(Collectors.joining(", ")));
+        }
+        if (Boolean.TRUE.equals(conflicts.getRoomOverCapacity())) {
+            message.append("; exam room capacity ").append(conflicts.getRoomCapacity())
+                    .append(" exceeded (").append(conflicts.getRoomOccupiedCount()).append(" booked, ")
+                    .append(conflicts.getTotalStudents()).append(" requested)");
+        }
+        return message.toString();
+    }
+
+    private void publishActivity(ExamSession session, ExamSessionActivityEvent.Type type, LocalDateTime occurredAt) {
+        Long examRoomId = session.getExamRoom() != null ? session.getExamRoom().getId() : null;
+        eventPublisher.publishEvent(new ExamSessionActivityEvent(
+                session.getId(), examRoomId, session.getStudent().getId(), type, occurredAt));
+    }
+
+    /**
+     * Random session code with 64 bits of entropy; session_code is unique, and with 32 bits a large cohort
+     * scheduled against a big table would likely collide and roll back the whole batch insert
+     */
+    static String generateSessionCode() {
+        return "EXAM-" + HexFormat.of().withUpperCase().toHexDigits(ThreadLocalRandom.current().nextLong());
     }
 
     private TakeExamResponse buildTakeExamResponse(ExamSession session) {
         Exam exam = session.getExam();
-        List<ExamQuestion> examQuestions = examQuestionRepository.findByExamId(exam.getId());
+        List<Question> questions = new ArrayList<>();
+        Map<Long, BigDecimal> questionPoints = examVariantService.getVariantQuestions(session);
+
+        if (questionPoints.isEmpty()) {
+            questionPoints = new HashMap<>();
+            for (ExamQuestion eq : examQuestionRepository.findByExamIdWithQuestion(exam.getId())) {
+                questions.add(eq.getQuestion());
+                questionPoints.put(eq.getQuestion().getId(), eq.getPoints());
+            }
+        } else {
+            // Per-student variant: keep the order stored at schedule time
+            Map<Long, Question> questionsById = questionRepository.findAllById(questionPoints.keySet()).stream()
+                    .collect(Collectors.toMap(Question::getId, q -> q));
+            for (Long questionId : questionPoints.keySet()) {
+                Question question = questionsById.get(questionId);
+                if (question != null) {
+                    questions.add(question);
+                }
+            }
+        }
+        Map<Long, BigDecimal> points = questionPoints;
 
         // Shuffle if needed
         if (exam.getIsShuffled()) {
-            Collections.shuffle(examQuestions);
+            Collections.shuffle(questions);
+        }
+
+        // Options and saved answers of all questions in two queries
+        Map<Long, List<TakeExamResponse.AnswerOption>> answersByQuestion = new HashMap<>();
+        List<AnswerProjection> options = points.isEmpty() ? List.of()
+                : answerRepository.findActiveProjectionsByQuestionIds(points.keySet());
+        for (AnswerProjection answer : options) {
+            answersByQuestion.computeIfAbsent(answer.getQuestionId(), k -> new ArrayList<>())
+                    .add(TakeExamResponse.AnswerOption.builder()
+                            .id(answer.getId())
+                            .content(answer.getContent())
+                            .displayOrder(answer.getDisplayOrder())
+                            .build());
+        }
+        Map<Long, StudentAnswer> submittedByQuestion = new HashMap<>();
+        for (StudentAnswer submitted : studentAnswerRepository.findByExamSession(session)) {
+            submittedByQuestion.put(submitted.getQuestion().getId(), submitted);
         }
 
-        List<TakeExamResponse.ExamQuestionItem> questionItems = examQuestions.stream()
-                .map(eq -> {
-                    Question question = eq.getQuestion();
-                    List<Answer> answers = answerRepository.findByQuestionId(question.getId());
+        List<TakeExamResponse.ExamQuestionItem> questionItems = questions.stream()
+                .map(question -> {
+                    List<TakeExamResponse.AnswerOption> answerOptions =
+                            answersByQuestion.getOrDefault(question.getId(), new ArrayList<>());
 
                     // Shuffle answers if needed
                     if (exam.getIsShuffleAnswers()) {
-                        Collections.shuffle(answers);
+                        Collections.shuffle(answerOptions);
                     }
 
                     // Get student's submitted answer if exists
-                    StudentAnswer submittedAnswer = studentAnswerRepository
-                            .findByExamSessionAndQuestion(session, question)
-                            .orElse(null);
-
-                    List<TakeExamResponse.AnswerOption> answerOptions = answers.stream()
-                            .map(a -> TakeExamResponse.AnswerOption.builder()
-                                    .id(a.getId())
-                                    .content(a.getContent())
-                                    .displayOrder(a.getDisplayOrder())
-                                    .build())
-                            .collect(Collectors.toList());
+                    StudentAnswer submittedAnswer = submittedByQuestion.get(question.getId());
 
                     return TakeExamResponse.ExamQuestionItem.builder()
                             .questionId(question.getId())
                             .content(question.getContent())
                             .questionType(question.getQuestionType())
-                            .points(eq.getPoints())
+                            .points(points.get(question.getId()))
                             .answers(answerOptions)
                             .submittedAnswerId(submittedAnswer != null && submittedAnswer.getAnswer() != null ? 
                                     submittedAnswer.getAnswer().getId() : null)
@@ -400,8 +573,9 @@ public class ExamSessionService {
 
         // Calculate remaining time in seconds
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime actualStart = session.getActualStartTime() != null ? 
-                session.getActualStartTime() : session.getStartTime();
+        LocalDateTime pendingStart = examSessionStartBatcher.getPendingStart(session.getId());
+        LocalDateTime actualStart = session.getActualStartTime() != null ? session.getActualStartTime()
+                : pendingStart != null ? pendingStart : session.getStartTime();
         long remainingSeconds = 0;
         if (now.isBefore(session.getEndTime())) {
             remainingSeconds = java.time.Duration.between(now, session.getEndTime()).getSeconds();
@@ -421,7 +595,9 @@ public class ExamSessionService {
 
     private ExamResultResponse buildExamResultResponse(ExamSession session) {
         Exam exam = session.getExam();
-        List<StudentAnswer> studentAnswers = studentAnswerRepository.findByExamSession(session);
+        List<StudentAnswer> studentAnswers = studentAnswerRepository.findByExamSessionWithQuestionAndAnswer(session);
+        Map<Long, BigDecimal> variantQuestions = examVariantService.getVariantQuestions(session);
+        BigDecimal variantTotalPoints = examVariantService.getVariantTotalPoints(session);
 
         long correctCount = studentAnswers.stream().filter(sa -> sa.getIsCorrect() != null && sa.getIsCorrect()).count();
 
@@ -429,9 +605,10 @@ public class ExamSessionService {
         
         // Only include question results if review is allowed
         if (exam.getAllowReview()) {
+            Map<Long, String> correctAnswers = getCorrectAnswerTexts(studentAnswers);
             questionResults = studentAnswers.stream()
                     .map(sa -> {
-                        String correctAnswer = getCorrectAnswerText(sa.getQuestion());
+                        String correctAnswer = correctAnswers.getOrDefault(sa.getQuestion().getId(), "N/A");
                         String studentAnswer = sa.getAnswer() != null ? 
                                 sa.getAnswer().getContent() : sa.getAnswerText();
 
@@ -442,7 +619,8 @@ public class ExamSessionService {
                                 .correctAnswer(correctAnswer)
                                 .isCorrect(sa.getIsCorrect())
                                 .pointsEarned(sa.getPointsEarned())
-                                .maxPoints(sa.getQuestion().getPoints())
+                                .maxPoints(variantQuestions.getOrDefault(
+                                        sa.getQuestion().getId(), sa.getQuestion().getPoints()))
                                 .explanation(sa.getQuestion().getExplanation())
                                 .build();
                     })
@@ -456,29 +634,39 @@ public class ExamSessionService {
                 .studentName(session.getStudent().getFullName())
                 .completedAt(session.getActualEndTime())
                 .totalScore(session.getTotalScore())
-                .maxScore(exam.getTotalPoints())
+                .maxScore(variantTotalPoints != null ? variantTotalPoints : exam.getTotalPoints())
                 .percentageScore(session.getPercentageScore())
                 .isPassed(session.getIsPassed())
                 .passingScore(exam.getPassingScore())
                 .correctAnswers((int) correctCount)
-                .totalQuestions(exam.getTotalQuestions())
+                .totalQuestions(variantQuestions.isEmpty() ? exam.getTotalQuestions() : variantQuestions.size())
                 .violationCount(session.getViolationCount())
                 .questionResults(questionResults)
                 .build();
     }
 
-    private String getCorrectAnswerText(Question question) {
-        List<Answer> correctAnswers = answerRepository.findCorrectAnswersByQuestion(question);
-        if (correctAnswers.isEmpty()) {
-            return "N/A";
+    /**
+     * Correct answer texts by question, loaded in one query
+     */
+    private Map<Long, String> getCorrectAnswerTexts(List<StudentAnswer> studentAnswers) {
+        List<Long> questionIds = studentAnswers.stream()
+                .map(sa -> sa.getQuestion().getId())
+                .collect(Collectors.toList());
+        if (questionIds.isEmpty()) {
+            return Map.of();
         }
-        return correctAnswers.stream()
-                .map(Answer::getContent)
-                .collect(Collectors.joining(", "));
+        return answerRepository.findActiveProjectionsByQuestionIds(questionIds).stream()
+                .filter(answer -> Boolean.TRUE.equals(answer.getIsCorrect()))
+                .collect(Collectors.groupingBy(AnswerProjection::getQuestionId,
+                        Collectors.mapping(AnswerProjection::getContent, Collectors.joining(", "))));
     }
 
     private ExamSessionResponse toExamSessionResponse(ExamSession session) {
-        long answeredCount = studentAnswerRepository.countByExamSession(session);
+        return toExamSessionResponse(session, studentAnswerRepository.countByExamSession(session));
+    }
+
+    private ExamSessionResponse toExamSessionResponse(ExamSession session, long answeredCount) {
+        Map<Long, BigDecimal> variantQuestions = examVariantService.getVariantQuestions(session);
 
         return ExamSessionResponse.builder()
                 .id(session.getId())
@@ -497,16 +685,10 @@ public class ExamSessionService {
                 .isPassed(session.getIsPassed())
                 .violationCount(session.getViolationCount())
                 .answeredQuestions((int) answeredCount)
-                .totalQuestions(session.getExam().getTotalQuestions())
+                .totalQuestions(variantQuestions.isEmpty()
+                        ? session.getExam().getTotalQuestions() : variantQuestions.size())
                 .createdAt(session.getCreatedAt())
                 .build();
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-    }
 }
 
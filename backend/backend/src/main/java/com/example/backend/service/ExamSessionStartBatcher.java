@@ -0,0 +1,87 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ExamSession;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.repository.ExamSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects SCHEDULED -> IN_PROGRESS transitions of ticket-admitted starts and writes them
+ * in one JDBC batch per interval, so a start storm does not issue one UPDATE per student.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExamSessionStartBatcher {
+
+    private final ExamSessionRepository examSessionRepository;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Record a start; the first recorded time wins
+     */
+    public LocalDateTime markStarted(Long sessionId, LocalDateTime startedAt) {
+        LocalDateTime existing = pending.putIfAbsent(sessionId, startedAt);
+        return existing != null ? existing : startedAt;
+    }
+
+    /**
+     * Get the start time still waiting to be written, if any
+     */
+    public LocalDateTime getPendingStart(Long sessionId) {
+        return pending.get(sessionId);
+    }
+
+    /**
+     * Apply a pending start to a managed session so the current transaction sees it as in progress
+     */
+    public void applyPending(ExamSession session) {
+        LocalDateTime startedAt = pending.get(session.getId());
+        if (startedAt != null && session.getStatus() == ExamSessionStatus.SCHEDULED) {
+            session.setStatus(ExamSessionStatus.IN_PROGRESS);
+            session.setActualStartTime(startedAt);
+        }
+    }
+
+    /**
+     * Write pending starts
+     */
+    @Scheduled(fixedDelayString = "${app.exam-ticket.start-flush-interval:200}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalDateTime> batch = new HashMap<>(pending);
+        try {
+            int updated = examSessionRepository.batchMarkStarted(batch);
+            // Only drop what was written; starts recorded meanwhile stay for the next run
+            batch.forEach(pending::remove);
+            log.debug("Flushed {} exam starts ({} updated)", batch.size(), updated);
+        } catch (Exception e) {
+            log.error("Failed to flush {} exam starts, will retry", batch.size(), e);
+        }
+    }
+
+    /**
+     * Write starts admitted since the last run before the application stops,
+     * otherwise those sessions stay SCHEDULED while their students are answering
+     */
+    @PreDestroy
+    void shutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("{} exam starts could not be written before shutdown", pending.size());
+        }
+    }
+}
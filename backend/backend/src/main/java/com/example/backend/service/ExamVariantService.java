@@ -0,0 +1,210 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.ExamBlueprintRequest;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service for per-student exam variants drawn from a blueprint.
+ * A variant is stored in ExamSession.questionsData as parallel "questionIds" / "points" lists.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamVariantService {
+
+    private static final String QUESTION_IDS = "questionIds";
+    private static final String POINTS = "points";
+    private static final String TOTAL_POINTS = "totalPoints";
+
+    private final QuestionPoolService questionPoolService;
+
+    /**
+     * Generate one variant per student in parallel. Every variant follows the blueprint counts, so the
+     * difficulty mix is identical across variants; maxExposureRate caps the share of variants any single
+     * question may appear in (null for no cap).
+     */
+    public List<Map<String, Object>> generateVariants(Long subjectId,
+                                                      List<ExamBlueprintRequest.BlueprintItem> blueprint,
+                                                      int variantCount,
+                                                      Double maxExposureRate) {
+        List<ItemPlan> plans = new ArrayList<>();
+        for (ExamBlueprintRequest.BlueprintItem item : blueprint) {
+            long[] pool = questionPoolService.getPool(new QuestionPoolService.PoolKey(
+                    subjectId, item.getChapterId(), item.getQuestionType(), item.getDifficultyLevel()));
+            if (pool.length < item.getCount()) {
+                throw new BadRequestException(String.format(
+                        "Not enough %s %s questions%s: requested %d, available %d",
+                        item.getDifficultyLevel(), item.getQuestionType(),
+                        item.getChapterId() != null ? " in chapter " + item.getChapterId() : "",
+                        item.getCount(), pool.length));
+            }
+            plans.add(new ItemPlan(item, pool, exposureCap(item, pool.length, variantCount, maxExposureRate)));
+        }
+
+        AtomicInteger overExposed = new AtomicInteger();
+        List<Map<String, Object>> variants = IntStream.range(0, variantCount)
+                .parallel()
+                .mapToObj(i -> buildVariant(plans, overExposed))
+                .collect(Collectors.toList());
+
+        if (overExposed.get() > 0) {
+            log.warn("Exposure cap exceeded for {} picks while generating {} variants (pool too tight)",
+                    overExposed.get(), variantCount);
+        }
+        return variants;
+    }
+
+    /**
+     * Get the session's question points in delivery order (empty when the session uses the exam's questions)
+     */
+    public Map<Long, BigDecimal> getVariantQuestions(ExamSession session) {
+        Map<String, Object> data = session.getQuestionsData();
+        if (data == null || !(data.get(QUESTION_IDS) instanceof List<?> ids)) {
+            return Collections.emptyMap();
+        }
+
+        List<?> points = data.get(POINTS) instanceof List<?> list ? list : Collections.emptyList();
+        Map<Long, BigDecimal> questions = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            BigDecimal questionPoints = i < points.size() ? toBigDecimal(points.get(i)) : BigDecimal.ONE;
+            questions.put(((Number) ids.get(i)).longValue(), questionPoints);
+        }
+        return questions;
+    }
+
+    /**
+     * Get the session's maximum score (null when the session uses the exam's questions)
+     */
+    public BigDecimal getVariantTotalPoints(ExamSession session) {
+        Map<String, Object> data = session.getQuestionsData();
+        if (data == null || data.get(TOTAL_POINTS) == null) {
+            return null;
+        }
+        return toBigDecimal(data.get(TOTAL_POINTS));
+    }
+
+    private Map<String, Object> buildVariant(List<ItemPlan> plans, AtomicInteger overExposed) {
+        Random random = ThreadLocalRandom.current();
+        Set<Long> selected = new HashSet<>();
+        List<Long> questionIds = new ArrayList<>();
+        List<BigDecimal> points = new ArrayList<>();
+        BigDecimal totalPoints = BigDecimal.ZERO;
+
+        for (ItemPlan plan : plans) {
+            int count = plan.item.getCount();
+            long[] picked = questionPoolService.sample(plan.pool, count,
+                    id -> !selected.contains(id) && plan.tryExpose(id), random);
+            for (long id : picked) {
+                selected.add(id);
+            }
+
+            if (picked.length < count) {
+                // Greedy parallel draws can strand the last variants when the cap is tight
+                long[] extra = questionPoolService.sample(plan.pool, count - picked.length,
+                        id -> !selected.contains(id), random);
+                if (extra.length < count - picked.length) {
+                    throw new BadRequestException("Not enough distinct questions to build exam variants");
+                }
+                for (long id : extra) {
+                    selected.add(id);
+                    plan.expose(id);
+                }
+                overExposed.addAndGet(extra.length);
+                picked = concat(picked, extra);
+            }
+
+            for (long id : picked) {
+                questionIds.add(id);
+                points.add(plan.item.getPoints());
+                totalPoints = totalPoints.add(plan.item.getPoints());
+            }
+        }
+
+        Map<String, Object> variant = new LinkedHashMap<>();
+        variant.put(QUESTION_IDS, questionIds);
+        variant.put(POINTS, points);
+        variant.put(TOTAL_POINTS, totalPoints);
+        return variant;
+    }
+
+    private int exposureCap(ExamBlueprintRequest.BlueprintItem item, int poolSize, int variantCount,
+                            Double maxExposureRate) {
+        if (maxExposureRate == null) {
+            return Integer.MAX_VALUE;
+        }
+
+        int cap = Math.max(1, (int) Math.ceil(maxExposureRate * variantCount));
+        long requiredSlots = (long) item.getCount() * variantCount;
+        if ((long) cap * poolSize < requiredSlots) {
+            throw new BadRequestException(String.format(
+                    "Question pool for %s %s is too small for exposure rate %.2f: %d questions, %d picks needed",
+                    item.getDifficultyLevel(), item.getQuestionType(), maxExposureRate, poolSize, requiredSlots));
+        }
+        return cap;
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Blueprint item with its candidate pool and per-question exposure counters
+     */
+    private static final class ItemPlan {
+
+        private final ExamBlueprintRequest.BlueprintItem item;
+        private final long[] pool;
+        private final AtomicIntegerArray exposure;
+        private final int cap;
+
+        private ItemPlan(ExamBlueprintRequest.BlueprintItem item, long[] pool, int cap) {
+            this.item = item;
+            this.pool = pool;
+            this.exposure = new AtomicIntegerArray(pool.length);
+            this.cap = cap;
+        }
+
+        private boolean tryExpose(long questionId) {
+            int index = Arrays.binarySearch(pool, questionId);
+            while (true) {
+                int current = exposure.get(index);
+                if (current >= cap) {
+                    return false;
+                }
+                if (exposure.compareAndSet(index, current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void expose(long questionId) {
+            exposure.incrementAndGet(Arrays.binarySearch(pool, questionId));
+        }
+    }
+}
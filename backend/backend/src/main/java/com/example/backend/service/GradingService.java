@@ -1,6 +1,6 @@
 package com.example.backend.service;
 
-import com.example.backend.entity.Answer;
+import com.example.backend.dto.projection.AnswerProjection;
 import com.example.backend.entity.ExamSession;
 import com.example.backend.entity.Question;
 import com.example.backend.entity.StudentAnswer;
@@ -13,7 +13,12 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for grading exam answers
@@ -25,6 +30,7 @@ public class GradingService {
 
     private final AnswerRepository answerRepository;
     private final StudentAnswerRepository studentAnswerRepository;
+    private final ExamVariantService examVariantService;
 
     /**
      * Grade an exam session
@@ -32,13 +38,17 @@ public class GradingService {
     public void gradeExamSession(ExamSession examSession) {
         log.info("Grading exam session: {}", examSession.getId());
 
-        List<StudentAnswer> studentAnswers = studentAnswerRepository.findByExamSession(examSession);
+        List<StudentAnswer> studentAnswers = studentAnswerRepository.findByExamSessionWithQuestionAndAnswer(examSession);
+        Map<Long, BigDecimal> variantQuestions = examVariantService.getVariantQuestions(examSession);
+        Map<Long, List<String>> acceptedTexts = getAcceptedTexts(studentAnswers);
         
         BigDecimal totalScore = BigDecimal.ZERO;
         int correctCount = 0;
 
         for (StudentAnswer studentAnswer : studentAnswers) {
-            BigDecimal pointsEarned = gradeAnswer(studentAnswer);
+            Question question = studentAnswer.getQuestion();
+            BigDecimal maxPoints = variantQuestions.getOrDefault(question.getId(), question.getPoints());
+            BigDecimal pointsEarned = gradeAnswer(studentAnswer, maxPoints, acceptedTexts);
             studentAnswer.setPointsEarned(pointsEarned);
             totalScore = totalScore.add(pointsEarned);
             
@@ -50,7 +60,8 @@ public class GradingService {
         }
 
         // Calculate percentage
-        BigDecimal maxScore = examSession.getExam().getTotalPoints();
+        BigDecimal variantTotalPoints = examVariantService.getVariantTotalPoints(examSession);
+        BigDecimal maxScore = variantTotalPoints != null ? variantTotalPoints : examSession.getExam().getTotalPoints();
         BigDecimal percentageScore = BigDecimal.ZERO;
         
         if (maxScore.compareTo(BigDecimal.ZERO) > 0) {
@@ -72,14 +83,15 @@ public class GradingService {
     /**
      * Grade a single answer
      */
-    private BigDecimal gradeAnswer(StudentAnswer studentAnswer) {
+    private BigDecimal gradeAnswer(StudentAnswer studentAnswer, BigDecimal maxPoints,
+                                   Map<Long, List<String>> acceptedTexts) {
         Question question = studentAnswer.getQuestion();
-        BigDecimal maxPoints = question.getPoints();
 
         if (question.getQuestionType() == QuestionType.MULTIPLE_CHOICE) {
             return gradeMultipleChoice(studentAnswer, maxPoints);
         } else if (question.getQuestionType() == QuestionType.FILL_IN_BLANK) {
-            return gradeFillInBlank(studentAnswer, maxPoints);
+            return gradeFillInBlank(studentAnswer, maxPoints,
+                    acceptedTexts.getOrDefault(question.getId(), List.of()));
         } else if (question.getQuestionType() == QuestionType.TRUE_FALSE) {
             return gradeMultipleChoice(studentAnswer, maxPoints); // Same as multiple choice
         }
@@ -105,23 +117,41 @@ public class GradingService {
     /**
      * Grade fill-in-blank question
      */
-    private BigDecimal gradeFillInBlank(StudentAnswer studentAnswer, BigDecimal maxPoints) {
+    private BigDecimal gradeFillInBlank(StudentAnswer studentAnswer, BigDecimal maxPoints, List<String> acceptedTexts) {
         if (studentAnswer.getAnswerText() == null || studentAnswer.getAnswerText().trim().isEmpty()) {
             studentAnswer.setIsCorrect(false);
             return BigDecimal.ZERO;
         }
 
-        // Get correct answers
-        List<Answer> correctAnswers = answerRepository.findCorrectAnswersByQuestion(studentAnswer.getQuestion());
-
         String submittedAnswer = studentAnswer.getAnswerText().trim().toLowerCase();
 
         // Check if submitted answer matches any correct answer
-        boolean isCorrect = correctAnswers.stream()
-                .anyMatch(answer -> answer.getContent().trim().toLowerCase().equals(submittedAnswer));
+        boolean isCorrect = acceptedTexts.stream()
+                .anyMatch(accepted -> accepted.trim().toLowerCase().equals(submittedAnswer));
 
         studentAnswer.setIsCorrect(isCorrect);
         return isCorrect ? maxPoints : BigDecimal.ZERO;
     }
-}
 
+    /**
+     * Correct answer texts of the answered fill-in-blank questions, loaded in one query
+     */
+    private Map<Long, List<String>> getAcceptedTexts(List<StudentAnswer> studentAnswers) {
+        Set<Long> questionIds = studentAnswers.stream()
+                .filter(sa -> sa.getQuestion().getQuestionType() == QuestionType.FILL_IN_BLANK)
+                .filter(sa -> sa.getAnswerText() != null && !sa.getAnswerText().trim().isEmpty())
+                .map(sa -> sa.getQuestion().getId())
+                .collect(Collectors.toSet());
+        if (questionIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<String>> acceptedTexts = new HashMap<>();
+        for (AnswerProjection answer : answerRepository.findActiveProjectionsByQuestionIds(questionIds)) {
+            if (Boolean.TRUE.equals(answer.getIsCorrect())) {
+                acceptedTexts.computeIfAbsent(answer.getQuestionId(), k -> new ArrayList<>()).add(answer.getContent());
+            }
+        }
+        return acceptedTexts;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Half-open [start, end) time windows grouped by key (student, exam room).
+ * Counting the windows of a key that overlap a query takes two binary searches:
+ * every window ending at or before the query start also starts before the query end,
+ * so overlapping = #(start &lt; queryEnd) - #(end &lt;= queryStart).
+ * Not thread-safe; build one per scheduling batch.
+ */
+final class IntervalIndex<K, V> {
+
+    private final Map<K, Timeline<V>> timelines = new HashMap<>();
+
+    /**
+     * Add a window
+     */
+    void add(K key, LocalDateTime start, LocalDateTime end, V value) {
+        timelines.computeIfAbsent(key, k -> new Timeline<>()).add(toSeconds(start), toSeconds(end), value);
+    }
+
+    /**
+     * Count windows of the key overlapping [start, end)
+     */
+    int countOverlapping(K key, LocalDateTime start, LocalDateTime end) {
+        Timeline<V> timeline = timelines.get(key);
+        return timeline != null ? timeline.countOverlapping(toSeconds(start), toSeconds(end)) : 0;
+    }
+
+    /**
+     * Get a window of the key overlapping [start, end), or null
+     */
+    V findOverlapping(K key, LocalDateTime start, LocalDateTime end) {
+        Timeline<V> timeline = timelines.get(key);
+        return timeline != null ? timeline.findOverlapping(toSeconds(start), toSeconds(end)) : null;
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Windows of one key: sorted start and end points plus windows by start for lookups
+     */
+    private static final class Timeline<V> {
+
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int size;
+        private final NavigableMap<Long, List<Window<V>>> byStart = new TreeMap<>();
+
+        void add(long start, long end, V value) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            insertSorted(starts, size, start);
+            insertSorted(ends, size, end);
+            size++;
+            byStart.computeIfAbsent(start, k -> new ArrayList<>(1)).add(new Window<>(end, value));
+        }
+
+        int countOverlapping(long start, long end) {
+            return countBelow(starts, size, end) - countBelow(ends, size, start + 1);
+        }
+
+        V findOverlapping(long start, long end) {
+            if (countOverlapping(start, end) == 0) {
+                return null;
+            }
+            // Latest starting windows first; for a conflict-free timeline the first one decides
+            for (List<Window<V>> windows : byStart.headMap(end, false).descendingMap().values()) {
+                for (Window<V> window : windows) {
+                    if (window.end() > start) {
+                        return window.value();
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static void insertSorted(long[] values, int size, long value) {
+            int at = countBelow(values, size, value);
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+        }
+
+        /**
+         * Number of values strictly below the bound
+         */
+        private static int countBelow(long[] values, int size, long bound) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < bound) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record Window<V>(long end, V value) {
+    }
+}
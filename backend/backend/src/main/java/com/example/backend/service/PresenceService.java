@@ -0,0 +1,258 @@
+package com.example.backend.service;
+
+import com.example.backend.config.PresenceConfig;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.event.ExamSessionActivityEvent;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.security.CurrentUserProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which exam sessions are online from student heartbeats.
+ * Beats only touch memory: sessions sit in a hashed timing wheel bucket for their deadline tick and
+ * are expired by a sweeper when they stop beating; last-seen times reach exam_session in periodic batches.
+ * Memory is bounded by the number of sessions currently beating.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamSessionStartBatcher examSessionStartBatcher;
+    private final CurrentUserProvider currentUserProvider;
+    private final PresenceConfig presenceConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingLastSeen = new ConcurrentHashMap<>();
+    private Set<Long>[] wheel;
+    private long timeoutTicks;
+    private long sweptTick;
+
+    /**
+     * Heartbeat state of one session
+     */
+    private static final class Presence {
+
+        private final Long studentId;
+        private final Long examRoomId;
+        private long lastSeen;
+        private long deadlineTick;
+        private long snapshotAt;
+
+        Presence(Long studentId, Long examRoomId) {
+            this.studentId = studentId;
+            this.examRoomId = examRoomId;
+        }
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    void init() {
+        timeoutTicks = Math.max(1, presenceConfig.getTimeout() / presenceConfig.getTick());
+        // Deadlines never lie more than timeoutTicks ahead, so they cannot wrap onto a bucket still in use
+        wheel = new Set[(int) timeoutTicks + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    /**
+     * Record a heartbeat of the current student; only the first beat after connecting reads the database
+     */
+    public void heartbeat(Long sessionId) {
+        Long studentId = currentUserProvider.getCurrentUserId();
+        Presence presence = presences.get(sessionId);
+        if (presence != null) {
+            if (!presence.studentId.equals(studentId)) {
+                throw new ForbiddenException("This exam session is not assigned to you");
+            }
+            touch(sessionId, studentId, presence.examRoomId);
+            return;
+        }
+
+        ExamSession session = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+        if (!session.getStudent().getId().equals(studentId)) {
+            throw new ForbiddenException("This exam session is not assigned to you");
+        }
+        examSessionStartBatcher.applyPending(session);
+        if (session.getStatus() != ExamSessionStatus.IN_PROGRESS) {
+            throw new BadRequestException("Exam is not in progress");
+        }
+
+        Long examRoomId = session.getExamRoom() != null ? session.getExamRoom().getId() : null;
+        if (touch(sessionId, studentId, examRoomId)) {
+            eventPublisher.publishEvent(new ExamSessionActivityEvent(
+                    sessionId, examRoomId, studentId, ExamSessionActivityEvent.Type.CONNECTED, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Check if the session is beating
+     */
+    public boolean isOnline(Long sessionId) {
+        return presences.containsKey(sessionId);
+    }
+
+    /**
+     * Get the last heartbeat of a beating session, or null
+     */
+    public LocalDateTime getLastSeen(Long sessionId) {
+        Presence presence = presences.get(sessionId);
+        return presence != null ? toLocalDateTime(presence.lastSeen) : null;
+    }
+
+    /**
+     * Count beating sessions
+     */
+    public int getOnlineCount() {
+        return presences.size();
+    }
+
+    /**
+     * Student activity counts as a heartbeat; completed sessions stop being tracked
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionActivity(ExamSessionActivityEvent event) {
+        switch (event.getType()) {
+            case STARTED, ANSWERED, ANSWER_CHANGED, VIOLATION ->
+                    touch(event.getSessionId(), event.getStudentId(), event.getExamRoomId());
+            case COMPLETED -> {
+                Presence presence = presences.remove(event.getSessionId());
+                if (presence != null) {
+                    pendingLastSeen.put(event.getSessionId(), toLocalDateTime(presence.lastSeen));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Expire sessions whose deadline tick has passed
+     */
+    @Scheduled(fixedDelayString = "${app.presence.tick:1000}")
+    public void expire() {
+        long currentTick = System.currentTimeMillis() / presenceConfig.getTick();
+        // Catch up on ticks missed while the scheduler was busy, at most one turn of the wheel
+        long fromTick = sweptTick == 0 ? currentTick : Math.max(sweptTick + 1, currentTick - wheel.length + 1);
+        for (long tick = fromTick; tick <= currentTick; tick++) {
+            Set<Long> bucket = wheel[slot(tick)];
+            for (Long sessionId : bucket) {
+                Presence presence = presences.get(sessionId);
+                if (presence == null) {
+                    bucket.remove(sessionId);
+                    continue;
+                }
+                synchronized (presence) {
+                    if (presence.deadlineTick > currentTick) {
+                        // Moved by a beat racing with this sweep
+                        if (slot(presence.deadlineTick) != slot(tick)) {
+                            bucket.remove(sessionId);
+                        }
+                        continue;
+                    }
+                    bucket.remove(sessionId);
+                    presences.remove(sessionId, presence);
+                }
+                disconnect(sessionId, presence);
+            }
+        }
+        sweptTick = currentTick;
+    }
+
+    /**
+     * Write last-seen times that changed since the previous snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.presence.snapshot-interval:60000}")
+    public void snapshotLastSeen() {
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        presences.forEach((sessionId, presence) -> {
+            long lastSeen = presence.lastSeen;
+            if (lastSeen > presence.snapshotAt) {
+                batch.put(sessionId, toLocalDateTime(lastSeen));
+                presence.snapshotAt = lastSeen;
+            }
+        });
+        for (Long sessionId : pendingLastSeen.keySet()) {
+            LocalDateTime lastSeen = pendingLastSeen.remove(sessionId);
+            if (lastSeen != null) {
+                batch.putIfAbsent(sessionId, lastSeen);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int updated = examSessionRepository.batchUpdateLastSeen(batch);
+            log.debug("Snapshot last seen of {} sessions ({} updated)", batch.size(), updated);
+        } catch (Exception e) {
+            // Beating sessions are written again by a later snapshot
+            log.error("Failed to snapshot last seen of {} sessions", batch.size(), e);
+        }
+    }
+
+    /**
+     * Record a beat and move the session to the bucket of its new deadline
+     *
+     * @return true if the session was not beating before
+     */
+    private boolean touch(Long sessionId, Long studentId, Long examRoomId) {
+        long now = System.currentTimeMillis();
+        long deadlineTick = now / presenceConfig.getTick() + timeoutTicks;
+        boolean[] created = new boolean[1];
+        Presence presence = presences.computeIfAbsent(sessionId, id -> {
+            created[0] = true;
+            return new Presence(studentId, examRoomId);
+        });
+
+        synchronized (presence) {
+            presence.lastSeen = now;
+            if (presence.deadlineTick != deadlineTick) {
+                if (presence.deadlineTick != 0) {
+                    wheel[slot(presence.deadlineTick)].remove(sessionId);
+                }
+                wheel[slot(deadlineTick)].add(sessionId);
+                presence.deadlineTick = deadlineTick;
+            }
+        }
+        return created[0];
+    }
+
+    private void disconnect(Long sessionId, Presence presence) {
+        LocalDateTime lastSeen = toLocalDateTime(presence.lastSeen);
+        pendingLastSeen.put(sessionId, lastSeen);
+        log.info("Exam session {} disconnected, last seen {}", sessionId, lastSeen);
+        eventPublisher.publishEvent(new ExamSessionActivityEvent(
+                sessionId, presence.examRoomId, presence.studentId, ExamSessionActivityEvent.Type.DISCONNECTED, lastSeen));
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheel.length);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
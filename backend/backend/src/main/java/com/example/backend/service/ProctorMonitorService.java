@@ -0,0 +1,408 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ProctorMonitorConfig;
+import com.example.backend.dto.projection.MonitorSessionProjection;
+import com.example.backend.dto.response.RoomMonitorResponse;
+import com.example.backend.entity.Role;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.event.ExamSessionActivityEvent;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ExamRoomProctorRepository;
+import com.example.backend.repository.ExamRoomRepository;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.security.CurrentUserProvider;
+import com.example.backend.security.UserDetailsImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory live state of exam rooms for proctors.
+ * A room is loaded from the database once, when its first watcher arrives, and is then kept current
+ * from exam session events; changes are pushed over SSE at most once per push interval.
+ * Writes run on virtual threads, in order per watcher, so one stalled proctor does not delay the others.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProctorMonitorService {
+
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamRoomRepository examRoomRepository;
+    private final ExamRoomProctorRepository examRoomProctorRepository;
+    private final ExamSessionStartBatcher examSessionStartBatcher;
+    private final PresenceService presenceService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ProctorMonitorConfig proctorMonitorConfig;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Events a watcher may fall behind by before its stream is closed; it reconnects and gets a fresh snapshot
+     */
+    private static final int MAX_PENDING_EVENTS = 64;
+
+    /**
+     * Open a live stream of a room: a "snapshot" event first, then "update" events with changed sessions
+     */
+    public SseEmitter subscribe(Long examRoomId) {
+        checkRoomAccess(examRoomId);
+        RoomState room = getOrLoadRoom(examRoomId);
+
+        SseEmitter emitter = new SseEmitter(proctorMonitorConfig.getEmitterTimeout());
+        Watcher watcher = new Watcher(emitter, room);
+        emitter.onCompletion(() -> room.watchers.remove(watcher));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> room.watchers.remove(watcher));
+
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(toJson(room.toResponse(examRoomId, room.allSessions()))));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        room.watchers.add(watcher);
+        room.lastWatchedAt = System.currentTimeMillis();
+
+        log.info("Proctor {} watching exam room {} ({} watchers)",
+                currentUserProvider.getCurrentUserId(), examRoomId, room.watchers.size());
+        return emitter;
+    }
+
+    /**
+     * Get the current live state of a room
+     */
+    public RoomMonitorResponse getRoomState(Long examRoomId) {
+        checkRoomAccess(examRoomId);
+        RoomState room = getOrLoadRoom(examRoomId);
+        room.lastWatchedAt = System.currentTimeMillis();
+        return room.toResponse(examRoomId, room.allSessions());
+    }
+
+    /**
+     * Apply committed session activity to rooms that are being watched
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionActivity(ExamSessionActivityEvent event) {
+        if (event.getExamRoomId() == null) {
+            return;
+        }
+        // Rooms nobody watches are not tracked; they are loaded on the first subscription
+        RoomState room = rooms.get(event.getExamRoomId());
+        if (room != null) {
+            room.apply(event);
+        }
+    }
+
+    /**
+     * Push coalesced changes of each watched room; rooms without watchers are dropped after the idle time
+     */
+    @Scheduled(fixedDelayString = "${app.proctor-monitor.push-interval:500}")
+    public void pushUpdates() {
+        long now = System.currentTimeMillis();
+        rooms.forEach((examRoomId, room) -> {
+            if (room.watchers.isEmpty()) {
+                if (now - room.lastWatchedAt > proctorMonitorConfig.getIdleEviction()) {
+                    rooms.remove(examRoomId, room);
+                    log.debug("Dropped live state of unwatched exam room {}", examRoomId);
+                }
+                return;
+            }
+            room.lastWatchedAt = now;
+
+            List<SessionState> changed = room.drainDirty();
+            if (!changed.isEmpty()) {
+                broadcast(room, SseEmitter.event().name("update").data(toJson(room.toResponse(examRoomId, changed))));
+            }
+        });
+    }
+
+    /**
+     * Keep idle streams open through proxies and detect disconnected clients
+     */
+    @Scheduled(fixedDelayString = "${app.proctor-monitor.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        rooms.values().forEach(room -> broadcast(room, SseEmitter.event().comment("ping")));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private void broadcast(RoomState room, SseEmitter.SseEventBuilder event) {
+        // Build once; a builder appends a terminator on every build() and must not be reused
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        for (Watcher watcher : room.watchers) {
+            watcher.enqueue(data);
+        }
+    }
+
+    /**
+     * Check that the current user may watch and manage the room: admins any room, proctors their assigned rooms
+     */
+    public void checkRoomAccess(Long examRoomId) {
+        UserDetailsImpl userDetails = currentUserProvider.getCurrentUserDetails();
+        if (!examRoomRepository.existsById(examRoomId)) {
+            throw new ResourceNotFoundException("ExamRoom", "id", examRoomId);
+        }
+        if (!userDetails.hasRole(Role.ADMIN)
+                && !examRoomProctorRepository.existsByExamRoomIdAndProctorId(examRoomId, userDetails.getId())) {
+            throw new ForbiddenException("You are not assigned to this exam room");
+        }
+    }
+
+    private RoomState getOrLoadRoom(Long examRoomId) {
+        RoomState room = rooms.get(examRoomId);
+        if (room != null) {
+            return room;
+        }
+
+        // Register first so events committed while loading are not lost; merging keeps the newer values
+        RoomState created = new RoomState();
+        RoomState existing = rooms.putIfAbsent(examRoomId, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            List<MonitorSessionProjection> rows = examSessionRepository.findMonitorRowsByExamRoomId(
+                    examRoomId, LocalDate.now().atStartOfDay());
+            for (MonitorSessionProjection row : rows) {
+                LocalDateTime pendingStart = row.getStatus() == ExamSessionStatus.SCHEDULED
+                        ? examSessionStartBatcher.getPendingStart(row.getSessionId()) : null;
+                created.merge(row, pendingStart, presenceService.isOnline(row.getSessionId()),
+                        presenceService.getLastSeen(row.getSessionId()));
+            }
+            log.debug("Loaded live state of exam room {}: {} sessions", examRoomId, rows.size());
+        } catch (RuntimeException e) {
+            rooms.remove(examRoomId, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private String toJson(RoomMonitorResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize room state", e);
+        }
+    }
+
+    /**
+     * One proctor stream; events queue up and are written in order by at most one virtual thread at a time
+     */
+    private final class Watcher {
+
+        private final SseEmitter emitter;
+        private final RoomState room;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Watcher(SseEmitter emitter, RoomState room) {
+            this.emitter = emitter;
+            this.room = room;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                // Stalled: stop feeding it; the writer closes the stream once its blocked send returns
+                dropped = true;
+                room.watchers.remove(this);
+                return;
+            }
+            pending.add(data);
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> data;
+                while ((data = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(data);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the container completes the emitter
+                        room.watchers.remove(this);
+                        return;
+                    }
+                    if (dropped) {
+                        emitter.complete();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared is picked up here
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    /**
+     * Live state and watchers of one exam room
+     */
+    private static final class RoomState {
+
+        private final Map<Long, SessionState> sessions = new ConcurrentHashMap<>();
+        private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+        private final List<Watcher> watchers = new CopyOnWriteArrayList<>();
+        private volatile long lastWatchedAt = System.currentTimeMillis();
+
+        void apply(ExamSessionActivityEvent event) {
+            sessions.computeIfAbsent(event.getSessionId(), id -> new SessionState(id, event.getStudentId()))
+                    .apply(event);
+            dirty.add(event.getSessionId());
+        }
+
+        void merge(MonitorSessionProjection row, LocalDateTime pendingStart, boolean online, LocalDateTime lastSeen) {
+            sessions.computeIfAbsent(row.getSessionId(), id -> new SessionState(id, row.getStudentId()))
+                    .merge(row, pendingStart, online, lastSeen);
+            dirty.add(row.getSessionId());
+        }
+
+        List<SessionState> allSessions() {
+            return new ArrayList<>(sessions.values());
+        }
+
+        List<SessionState> drainDirty() {
+            List<SessionState> changed = new ArrayList<>();
+            for (Long sessionId : dirty) {
+                dirty.remove(sessionId);
+                SessionState state = sessions.get(sessionId);
+                if (state != null) {
+                    changed.add(state);
+                }
+            }
+            return changed;
+        }
+
+        RoomMonitorResponse toResponse(Long examRoomId, List<SessionState> states) {
+            return RoomMonitorResponse.builder()
+                    .examRoomId(examRoomId)
+                    .generatedAt(LocalDateTime.now())
+                    .sessions(states.stream()
+                            .sorted(Comparator.comparing(s -> s.sessionId))
+                            .map(SessionState::toResponse)
+                            .toList())
+                    .build();
+        }
+    }
+
+    /**
+     * Live state of one exam session
+     */
+    private static final class SessionState {
+
+        private final Long sessionId;
+        private final Long studentId;
+        private String studentName;
+        private ExamSessionStatus status = ExamSessionStatus.SCHEDULED;
+        private LocalDateTime startedAt;
+        private int answeredCount;
+        private int violationCount;
+        private LocalDateTime lastActivityAt;
+        private boolean online;
+        private LocalDateTime lastSeenAt;
+
+        SessionState(Long sessionId, Long studentId) {
+            this.sessionId = sessionId;
+            this.studentId = studentId;
+        }
+
+        synchronized void apply(ExamSessionActivityEvent event) {
+            switch (event.getType()) {
+                case STARTED -> {
+                    if (status == ExamSessionStatus.SCHEDULED) {
+                        status = ExamSessionStatus.IN_PROGRESS;
+                        startedAt = event.getOccurredAt();
+                    }
+                }
+                case ANSWERED -> answeredCount++;
+                case VIOLATION -> violationCount++;
+                case COMPLETED -> status = ExamSessionStatus.COMPLETED;
+                case ANSWER_CHANGED, CONNECTED, DISCONNECTED -> {
+                }
+            }
+            // Any student activity is a sign of life; completion and heartbeat loss end it
+            online = event.getType() != ExamSessionActivityEvent.Type.COMPLETED
+                    && event.getType() != ExamSessionActivityEvent.Type.DISCONNECTED;
+            if (lastSeenAt == null || event.getOccurredAt().isAfter(lastSeenAt)) {
+                lastSeenAt = event.getOccurredAt();
+            }
+            boolean presenceOnly = event.getType() == ExamSessionActivityEvent.Type.CONNECTED
+                    || event.getType() == ExamSessionActivityEvent.Type.DISCONNECTED;
+            if (!presenceOnly && (lastActivityAt == null || event.getOccurredAt().isAfter(lastActivityAt))) {
+                lastActivityAt = event.getOccurredAt();
+            }
+        }
+
+        synchronized void merge(MonitorSessionProjection row, LocalDateTime pendingStart,
+                                boolean online, LocalDateTime lastSeen) {
+            studentName = row.getStudentName();
+            ExamSessionStatus rowStatus = pendingStart != null ? ExamSessionStatus.IN_PROGRESS : row.getStatus();
+            // Events seen while loading are never older than the row
+            if (status == ExamSessionStatus.SCHEDULED) {
+                status = rowStatus;
+            }
+            if (startedAt == null) {
+                startedAt = pendingStart != null ? pendingStart : row.getActualStartTime();
+            }
+            answeredCount = Math.max(answeredCount, row.getAnsweredCount().intValue());
+            violationCount = Math.max(violationCount, row.getViolationCount() != null ? row.getViolationCount() : 0);
+            if (lastActivityAt == null) {
+                lastActivityAt = startedAt;
+            }
+            this.online = this.online || online;
+            if (lastSeenAt == null) {
+                lastSeenAt = lastSeen != null ? lastSeen : row.getLastSeenAt();
+            }
+        }
+
+        synchronized RoomMonitorResponse.SessionState toResponse() {
+            return RoomMonitorResponse.SessionState.builder()
+                    .sessionId(sessionId)
+                    .studentId(studentId)
+                    .studentName(studentName)
+                    .status(status)
+                    .startedAt(startedAt)
+                    .answeredCount(answeredCount)
+                    .violationCount(violationCount)
+                    .lastActivityAt(lastActivityAt)
+                    .online(online)
+                    .lastSeenAt(lastSeenAt)
+                    .build();
+        }
+    }
+}
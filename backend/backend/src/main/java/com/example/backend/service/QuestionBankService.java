@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.projection.QuestionProjection;
 import com.example.backend.dto.request.CreateChapterRequest;
 import com.example.backend.dto.request.CreatePassageRequest;
 import com.example.backend.dto.request.CreateQuestionRequest;
@@ -7,19 +8,22 @@ import com.example.backend.dto.response.ChapterResponse;
 import com.example.backend.dto.response.PassageResponse;
 import com.example.backend.dto.response.QuestionResponse;
 import com.example.backend.entity.*;
+import com.example.backend.event.QuestionBankChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.mapper.QuestionMapper;
 import com.example.backend.repository.*;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,13 +35,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class QuestionBankService {
 
+    private static final int MAX_QUESTION_PAGE_SIZE = 500;
+
     private final SubjectRepository subjectRepository;
     private final ChapterRepository chapterRepository;
     private final PassageRepository passageRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
-    private final UserRepository userRepository;
     private final QuestionMapper questionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserProvider currentUserProvider;
 
     // ==================== CHAPTER OPERATIONS ====================
 
@@ -79,7 +86,7 @@ public class QuestionBankService {
             throw new BadRequestException("Chapter number already exists: " + request.getChapterNumber());
         }
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         Chapter chapter = Chapter.builder()
                 .subject(subject)
@@ -92,6 +99,7 @@ public class QuestionBankService {
                 .build();
 
         Chapter savedChapter = chapterRepository.save(chapter);
+        publishBankChanged(subjectId);
         log.info("Chapter created successfully: {}", savedChapter.getId());
 
         return questionMapper.toChapterResponse(savedChapter);
@@ -117,9 +125,10 @@ public class QuestionBankService {
             chapter.setDisplayOrder(request.getDisplayOrder());
         }
 
-        chapter.setUpdatedBy(getCurrentUser());
+        chapter.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         Chapter updatedChapter = chapterRepository.save(chapter);
 
+        publishBankChanged(chapter.getSubject().getId());
         log.info("Chapter updated successfully: {}", id);
         return questionMapper.toChapterResponse(updatedChapter);
     }
@@ -135,9 +144,10 @@ public class QuestionBankService {
                 .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", id));
 
         chapter.setIsActive(false);
-        chapter.setUpdatedBy(getCurrentUser());
+        chapter.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         chapterRepository.save(chapter);
 
+        publishBankChanged(chapter.getSubject().getId());
         log.info("Chapter deleted successfully: {}", id);
     }
 
@@ -176,7 +186,7 @@ public class QuestionBankService {
         Chapter chapter = chapterRepository.findById(chapterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", chapterId));
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         Passage passage = Passage.builder()
                 .chapter(chapter)
@@ -188,6 +198,7 @@ public class QuestionBankService {
                 .build();
 
         Passage savedPassage = passageRepository.save(passage);
+        publishBankChanged(chapter.getSubject().getId());
         log.info("Passage created successfully: {}", savedPassage.getId());
 
         return questionMapper.toPassageResponse(savedPassage);
@@ -213,9 +224,10 @@ public class QuestionBankService {
             passage.setDisplayOrder(request.getDisplayOrder());
         }
 
-        passage.setUpdatedBy(getCurrentUser());
+        passage.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         Passage updatedPassage = passageRepository.save(passage);
 
+        publishBankChanged(passage.getChapter().getSubject().getId());
         log.info("Passage updated successfully: {}", id);
         return questionMapper.toPassageResponse(updatedPassage);
     }
@@ -231,9 +243,10 @@ public class QuestionBankService {
                 .orElseThrow(() -> new ResourceNotFoundException("Passage", "id", id));
 
         passage.setIsActive(false);
-        passage.setUpdatedBy(getCurrentUser());
+        passage.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         passageRepository.save(passage);
 
+        publishBankChanged(passage.getChapter().getSubject().getId());
         log.info("Passage deleted successfully: {}", id);
     }
 
@@ -244,12 +257,22 @@ public class QuestionBankService {
      */
     @Transactional(readOnly = true)
     public List<QuestionResponse> getQuestionsByPassage(Long passageId) {
-        Passage passage = passageRepository.findById(passageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Passage", "id", passageId));
+        return getQuestionsByPassage(passageId, null, null, null);
+    }
 
-        return questionRepository.findByPassageId(passageId).stream()
-                .map(questionMapper::toQuestionResponse)
-                .collect(Collectors.toList());
+    /**
+     * Get questions by passage, keyset-paginated after (afterDisplayOrder, afterId)
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionResponse> getQuestionsByPassage(Long passageId, Integer afterDisplayOrder,
+                                                        Long afterId, Integer size) {
+        if (!passageRepository.existsById(passageId)) {
+            throw new ResourceNotFoundException("Passage", "id", passageId);
+        }
+
+        List<QuestionProjection> questions = questionRepository.findProjectionsByPassageId(
+                passageId, keysetOrder(afterDisplayOrder), keysetId(afterId), keysetPage(size));
+        return assembleQuestions(questions);
     }
 
     /**
@@ -257,12 +280,22 @@ public class QuestionBankService {
      */
     @Transactional(readOnly = true)
     public List<QuestionResponse> getQuestionsByChapter(Long chapterId) {
-        Chapter chapter = chapterRepository.findById(chapterId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chapter", "id", chapterId));
+        return getQuestionsByChapter(chapterId, null, null, null);
+    }
 
-        return questionRepository.findByChapterId(chapterId).stream()
-                .map(questionMapper::toQuestionResponse)
-                .collect(Collectors.toList());
+    /**
+     * Get questions by chapter, keyset-paginated after (afterDisplayOrder, afterId)
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionResponse> getQuestionsByChapter(Long chapterId, Integer afterDisplayOrder,
+                                                        Long afterId, Integer size) {
+        if (!chapterRepository.existsById(chapterId)) {
+            throw new ResourceNotFoundException("Chapter", "id", chapterId);
+        }
+
+        List<QuestionProjection> questions = questionRepository.findProjectionsByChapterId(
+                chapterId, keysetOrder(afterDisplayOrder), keysetId(afterId), keysetPage(size));
+        return assembleQuestions(questions);
     }
 
     /**
@@ -291,7 +324,7 @@ public class QuestionBankService {
         
         if (passages.isEmpty()) {
             // Create default passage
-            User currentUser = getCurrentUser();
+            User currentUser = currentUserProvider.getCurrentUser();
             passage = Passage.builder()
                     .chapter(chapter)
                     .title("Mặc định")
@@ -333,7 +366,7 @@ public class QuestionBankService {
             throw new BadRequestException("Question must have at least one correct answer");
         }
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         Question question = Question.builder()
                 .passage(passage)
@@ -363,6 +396,7 @@ public class QuestionBankService {
             answerRepository.save(answer);
         }
 
+        publishBankChanged(passage.getChapter().getSubject().getId());
         log.info("Question created successfully: {}", savedQuestion.getId());
 
         // Reload question with answers
@@ -370,36 +404,23 @@ public class QuestionBankService {
     }
 
     /**
-     * Update question
+     * Update question by creating a new version (copy-on-write).
+     * The previous version and its answers stay untouched so exams and student answers pinned to it keep working.
      */
     @Transactional
     public QuestionResponse updateQuestion(Long id, CreateQuestionRequest request) {
         log.info("Updating question: {}", id);
 
-        Question question = questionRepository.findById(id)
+        // Lock the version being replaced so two concurrent edits cannot both see it active
+        Question current = questionRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Question", "id", id));
 
-        if (request.getContent() != null) {
-            question.setContent(request.getContent());
-        }
-        if (request.getExplanation() != null) {
-            question.setExplanation(request.getExplanation());
-        }
-        if (request.getDifficultyLevel() != null) {
-            question.setDifficultyLevel(request.getDifficultyLevel());
-        }
-        if (request.getPoints() != null) {
-            question.setPoints(BigDecimal.valueOf(request.getPoints()));
-        }
-        if (request.getDisplayOrder() != null) {
-            question.setDisplayOrder(request.getDisplayOrder());
+        if (!current.getIsActive()) {
+            throw new BadRequestException("Only the current version of a question can be edited");
         }
 
-        question.setUpdatedBy(getCurrentUser());
-        questionRepository.save(question);
-
-        // Update answers if provided
-        if (request.getAnswers() != null && !request.getAnswers().isEmpty()) {
+        boolean replaceAnswers = request.getAnswers() != null && !request.getAnswers().isEmpty();
+        if (replaceAnswers) {
             // Validate at least one correct answer
             long correctAnswersCount = request.getAnswers().stream()
                     .filter(CreateQuestionRequest.CreateAnswerRequest::getIsCorrect)
@@ -408,56 +429,144 @@ public class QuestionBankService {
             if (correctAnswersCount == 0) {
                 throw new BadRequestException("Question must have at least one correct answer");
             }
+        }
 
-            // Delete old answers
-            List<Answer> oldAnswers = answerRepository.findByQuestion(question);
-            answerRepository.deleteAll(oldAnswers);
-
-            // Create new answers
-            User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
+
+        Question next = Question.builder()
+                .passage(current.getPassage())
+                .questionType(current.getQuestionType())
+                .content(request.getContent() != null ? request.getContent() : current.getContent())
+                .explanation(request.getExplanation() != null ? request.getExplanation() : current.getExplanation())
+                .difficultyLevel(request.getDifficultyLevel() != null
+                        ? request.getDifficultyLevel() : current.getDifficultyLevel())
+                .points(request.getPoints() != null ? BigDecimal.valueOf(request.getPoints()) : current.getPoints())
+                .displayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : current.getDisplayOrder())
+                .version(current.getVersion() + 1)
+                .rootQuestionId(current.getRootId())
+                .isActive(true)
+                .createdBy(current.getCreatedBy())
+                .updatedBy(currentUser)
+                .build();
+        if (replaceAnswers) {
             for (CreateQuestionRequest.CreateAnswerRequest answerRequest : request.getAnswers()) {
-                Answer answer = Answer.builder()
-                        .question(question)
+                next.addAnswer(Answer.builder()
                         .content(answerRequest.getContent())
                         .isCorrect(answerRequest.getIsCorrect())
                         .displayOrder(answerRequest.getDisplayOrder())
                         .isActive(true)
                         .createdBy(currentUser)
-                        .build();
-
-                answerRepository.save(answer);
+                        .build());
+            }
+        } else {
+            for (Answer answer : answerRepository.findByQuestionId(current.getId())) {
+                next.addAnswer(Answer.builder()
+                        .content(answer.getContent())
+                        .isCorrect(answer.getIsCorrect())
+                        .displayOrder(answer.getDisplayOrder())
+                        .isActive(true)
+                        .createdBy(currentUser)
+                        .build());
             }
         }
+        // Answers are inserted through the cascade so the new version is returned with them
+        Question savedNext = questionRepository.save(next);
+
+        // Retire the previous version
+        current.setIsActive(false);
+        current.setUpdatedBy(currentUser);
+        questionRepository.save(current);
+
+        publishBankChanged(current.getPassage().getChapter().getSubject().getId());
+        log.info("Question {} updated as version {}: {}", id, savedNext.getVersion(), savedNext.getId());
+        return getQuestionById(savedNext.getId());
+    }
+
+    /**
+     * Get all versions of a question
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionResponse> getQuestionVersions(Long id) {
+        Question question = questionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", id));
 
-        log.info("Question updated successfully: {}", id);
-        return getQuestionById(id);
+        List<Question> versions = questionRepository.findVersionsByRootId(question.getRootId());
+        List<QuestionResponse> responses = new ArrayList<>(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            QuestionResponse response = questionMapper.toQuestionResponse(versions.get(i));
+            // Only the newest version can be current; every older one was retired by an edit
+            response.setSuperseded(i < versions.size() - 1);
+            responses.add(response);
+        }
+        return responses;
     }
 
     /**
-     * Delete question
+     * Delete question.
+     * Any version ID deletes the question itself: the current version of its chain is retired.
      */
     @Transactional
     public void deleteQuestion(Long id) {
         log.info("Deleting question: {}", id);
 
-        Question question = questionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", id));
+        Long rootId = questionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", id))
+                .getRootId();
+        // Lock like an edit does; if an edit committed while waiting, its new version is current on the second read
+        Question question = questionRepository.findCurrentVersionForUpdate(rootId)
+                .or(() -> questionRepository.findCurrentVersionForUpdate(rootId))
+                .orElse(null);
+        if (question == null) {
+            log.info("Question already deleted: {}", id);
+            return;
+        }
 
         question.setIsActive(false);
-        question.setUpdatedBy(getCurrentUser());
+        question.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         questionRepository.save(question);
 
-        log.info("Question deleted successfully: {}", id);
+        publishBankChanged(question.getPassage().getChapter().getSubject().getId());
+        log.info("Question deleted successfully: {} (version {})", id, question.getId());
+    }
+
+    /**
+     * Notify listeners (question pools, caches) that a subject's bank changed
+     */
+    private void publishBankChanged(Long subjectId) {
+        eventPublisher.publishEvent(new QuestionBankChangedEvent(subjectId));
     }
 
     /**
-     * Get current authenticated user
+     * Load answers for a page of question rows in one query and assemble responses
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+    private List<QuestionResponse> assembleQuestions(List<QuestionProjection> questions) {
+        if (questions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> questionIds = questions.stream()
+                .map(QuestionProjection::getId)
+                .collect(Collectors.toList());
+        return questionMapper.toQuestionResponses(questions,
+                answerRepository.findProjectionsByQuestionIds(questionIds));
+    }
+
+    private Integer keysetOrder(Integer afterDisplayOrder) {
+        return afterDisplayOrder != null ? afterDisplayOrder : Integer.MIN_VALUE;
+    }
+
+    private Long keysetId(Long afterId) {
+        return afterId != null ? afterId : Long.MIN_VALUE;
+    }
+
+    private Pageable keysetPage(Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        if (size < 1 || size > MAX_QUESTION_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_QUESTION_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size);
     }
 }
 
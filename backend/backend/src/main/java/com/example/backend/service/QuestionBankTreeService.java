@@ -0,0 +1,153 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.projection.PassageSummaryProjection;
+import com.example.backend.dto.projection.QuestionSummaryProjection;
+import com.example.backend.dto.response.QuestionBankTreeResponse;
+import com.example.backend.entity.Chapter;
+import com.example.backend.entity.Subject;
+import com.example.backend.event.QuestionBankChangedEvent;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.PassageRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.SubjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service building the Subject -> Chapter -> Passage -> question hierarchy for the authoring UI.
+ * Trees are cached per subject and dropped when QuestionBankService reports a change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionBankTreeService {
+
+    private final SubjectRepository subjectRepository;
+    private final ChapterRepository chapterRepository;
+    private final PassageRepository passageRepository;
+    private final QuestionRepository questionRepository;
+
+    private final Map<Long, QuestionBankTreeResponse> trees = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation so a tree built concurrently with a change is not kept
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get question bank tree of a subject
+     */
+    @Transactional(readOnly = true)
+    public QuestionBankTreeResponse getSubjectTree(Long subjectId) {
+        QuestionBankTreeResponse tree = trees.get(subjectId);
+        if (tree != null) {
+            return tree;
+        }
+
+        long builtAt = generation.get();
+        tree = buildTree(subjectId);
+
+        trees.put(subjectId, tree);
+        if (generation.get() != builtAt) {
+            trees.remove(subjectId, tree);
+        }
+        return tree;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(QuestionBankChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getSubjectId() == null) {
+            trees.clear();
+        } else {
+            trees.remove(event.getSubjectId());
+        }
+    }
+
+    private QuestionBankTreeResponse buildTree(Long subjectId) {
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", subjectId));
+
+        List<Chapter> chapters = chapterRepository.findBySubjectId(subjectId);
+        List<PassageSummaryProjection> passages = passageRepository.findSummariesBySubjectId(subjectId);
+        List<QuestionSummaryProjection> questions = questionRepository.findSummariesBySubjectId(subjectId);
+
+        Map<Long, QuestionBankTreeResponse.PassageNode> passageNodes = new HashMap<>();
+        Map<Long, List<QuestionBankTreeResponse.PassageNode>> passagesByChapter = new HashMap<>();
+        for (PassageSummaryProjection passage : passages) {
+            QuestionBankTreeResponse.PassageNode node = QuestionBankTreeResponse.PassageNode.builder()
+                    .id(passage.getId())
+                    .title(passage.getTitle())
+                    .displayOrder(passage.getDisplayOrder())
+                    .questions(new ArrayList<>())
+                    .build();
+            passageNodes.put(passage.getId(), node);
+            passagesByChapter.computeIfAbsent(passage.getChapterId(), k -> new ArrayList<>()).add(node);
+        }
+
+        int questionCount = 0;
+        for (QuestionSummaryProjection question : questions) {
+            QuestionBankTreeResponse.PassageNode node = passageNodes.get(question.getPassageId());
+            if (node == null) {
+                continue; // passage of an inactive chapter
+            }
+            node.getQuestions().add(QuestionBankTreeResponse.QuestionSummary.builder()
+                    .id(question.getId())
+                    .questionType(question.getQuestionType())
+                    .difficultyLevel(question.getDifficultyLevel())
+                    .points(question.getPoints())
+                    .displayOrder(question.getDisplayOrder())
+                    .version(question.getVersion())
+                    .contentPreview(question.getContentPreview())
+                    .build());
+            questionCount++;
+        }
+
+        List<QuestionBankTreeResponse.ChapterNode> chapterNodes = new ArrayList<>(chapters.size());
+        int passageCount = 0;
+        for (Chapter chapter : chapters) {
+            List<QuestionBankTreeResponse.PassageNode> chapterPassages =
+                    passagesByChapter.getOrDefault(chapter.getId(), new ArrayList<>());
+            int chapterQuestionCount = 0;
+            for (QuestionBankTreeResponse.PassageNode passage : chapterPassages) {
+                passage.setQuestionCount(passage.getQuestions().size());
+                chapterQuestionCount += passage.getQuestions().size();
+            }
+            passageCount += chapterPassages.size();
+
+            chapterNodes.add(QuestionBankTreeResponse.ChapterNode.builder()
+                    .id(chapter.getId())
+                    .chapterNumber(chapter.getChapterNumber())
+                    .title(chapter.getTitle())
+                    .displayOrder(chapter.getDisplayOrder())
+                    .passageCount(chapterPassages.size())
+                    .questionCount(chapterQuestionCount)
+                    .passages(chapterPassages)
+                    .build());
+        }
+
+        log.debug("Built question bank tree for subject {}: {} chapters, {} passages, {} questions",
+                subjectId, chapterNodes.size(), passageCount, questionCount);
+
+        return QuestionBankTreeResponse.builder()
+                .subjectId(subject.getId())
+                .subjectCode(subject.getCode())
+                .subjectName(subject.getName())
+                .chapterCount(chapterNodes.size())
+                .passageCount(passageCount)
+                .questionCount(questionCount)
+                .chapters(chapterNodes)
+                .build();
+    }
+}
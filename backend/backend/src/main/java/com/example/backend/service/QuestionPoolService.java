@@ -0,0 +1,106 @@
+package com.example.backend.service;
+
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import com.example.backend.event.QuestionBankChangedEvent;
+import com.example.backend.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+
+/**
+ * Candidate question id pools per (subject, chapter, type, difficulty) used for random exam generation.
+ * Pools are loaded lazily with one id query, kept as primitive arrays and dropped when the bank changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionPoolService {
+
+    private final QuestionRepository questionRepository;
+
+    private final Map<PoolKey, long[]> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation so a load racing with a bank change never stays cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Pool key; chapterId is null for a subject-wide pool
+     */
+    public record PoolKey(Long subjectId, Long chapterId, QuestionType questionType, DifficultyLevel difficultyLevel) {
+    }
+
+    /**
+     * Get candidate question ids for a pool (sorted, must not be modified)
+     */
+    public long[] getPool(PoolKey key) {
+        long[] pool = pools.get(key);
+        if (pool != null) {
+            return pool;
+        }
+
+        long loadedAt = generation.get();
+        List<Long> ids = key.chapterId() == null
+                ? questionRepository.findIdsBySubjectAndTypeAndDifficulty(
+                        key.subjectId(), key.questionType(), key.difficultyLevel())
+                : questionRepository.findIdsByChapterAndTypeAndDifficulty(
+                        key.subjectId(), key.chapterId(), key.questionType(), key.difficultyLevel());
+        pool = ids.stream().mapToLong(Long::longValue).toArray();
+
+        pools.put(key, pool);
+        if (generation.get() != loadedAt) {
+            pools.remove(key, pool);
+        }
+        log.debug("Loaded question pool {} with {} candidates", key, pool.length);
+        return pool;
+    }
+
+    /**
+     * Draw up to count distinct ids accepted by the filter (partial Fisher-Yates over a copy of the pool)
+     */
+    public long[] sample(long[] pool, int count, LongPredicate accept, Random random) {
+        long[] candidates = pool.clone();
+        long[] picked = new long[Math.min(count, candidates.length)];
+        int pickedCount = 0;
+        int remaining = candidates.length;
+
+        while (pickedCount < picked.length && remaining > 0) {
+            int index = random.nextInt(remaining);
+            long id = candidates[index];
+            candidates[index] = candidates[--remaining];
+            if (accept.test(id)) {
+                picked[pickedCount++] = id;
+            }
+        }
+
+        return pickedCount == picked.length ? picked : Arrays.copyOf(picked, pickedCount);
+    }
+
+    /**
+     * Drop cached pools of a subject (all pools when subjectId is null)
+     */
+    public void invalidate(Long subjectId) {
+        generation.incrementAndGet();
+        if (subjectId == null) {
+            pools.clear();
+        } else {
+            pools.keySet().removeIf(key -> subjectId.equals(key.subjectId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(QuestionBankChangedEvent event) {
+        invalidate(event.getSubjectId());
+    }
+}
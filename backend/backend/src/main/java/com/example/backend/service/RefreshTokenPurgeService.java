@@ -0,0 +1,60 @@
+package com.example.backend.service;
+
+import com.example.backend.config.JwtConfig;
+import com.example.backend.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service that purges expired and revoked refresh tokens.
+ * Runs off-hours and deletes in small chunks, each in its own transaction, so row locks stay short.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtConfig jwtConfig;
+
+    /**
+     * Scheduled purge run
+     */
+    @Scheduled(cron = "${app.jwt.refresh-token-purge-cron:0 */10 1-5 * * *}")
+    public void scheduledPurge() {
+        try {
+            purgeExpiredTokens();
+        } catch (Exception e) {
+            log.error("Refresh token purge failed", e);
+        }
+    }
+
+    /**
+     * Delete expired tokens and tokens revoked longer than the retention period
+     *
+     * @return number of deleted tokens
+     */
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedBefore = now.minusNanos(jwtConfig.getRevokedTokenRetention() * 1_000_000);
+        int batchSize = jwtConfig.getRefreshTokenPurgeBatchSize();
+
+        int total = 0;
+        for (int chunk = 0; chunk < jwtConfig.getRefreshTokenPurgeMaxChunks(); chunk++) {
+            int deleted = refreshTokenRepository.deleteExpiredOrRevokedChunk(now, revokedBefore, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Purged {} expired or revoked refresh tokens", total);
+        }
+        return total;
+    }
+}
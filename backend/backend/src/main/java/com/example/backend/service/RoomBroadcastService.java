@@ -0,0 +1,199 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ProctorMonitorConfig;
+import com.example.backend.dto.request.AnnouncementRequest;
+import com.example.backend.dto.request.ExtendTimeRequest;
+import com.example.backend.dto.response.RoomBroadcastResponse;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.event.ExamSessionActivityEvent;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.security.CurrentUserProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Room broadcast channel from proctors to students over SSE.
+ * Idle streams hold no thread; each broadcast serializes its event once and hands every write
+ * to its own virtual thread, so one slow client does not hold up the rest of the room.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomBroadcastService {
+
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamSessionStartBatcher examSessionStartBatcher;
+    private final ProctorMonitorService proctorMonitorService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ProctorMonitorConfig proctorMonitorConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Open student streams by exam room, then by exam session
+     */
+    private final Map<Long, Map<Long, SseEmitter>> rooms = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Open the broadcast stream of the current student's session; a reconnect replaces the previous stream
+     */
+    public SseEmitter subscribe(Long sessionId) {
+        ExamSession session = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExamSession", "id", sessionId));
+        if (!session.getStudent().getId().equals(currentUserProvider.getCurrentUserId())) {
+            throw new ForbiddenException("This exam session is not assigned to you");
+        }
+        examSessionStartBatcher.applyPending(session);
+        if (session.getStatus() != ExamSessionStatus.SCHEDULED && session.getStatus() != ExamSessionStatus.IN_PROGRESS) {
+            throw new BadRequestException("Exam session is not active");
+        }
+        if (session.getExamRoom() == null) {
+            throw new BadRequestException("Exam session has no exam room");
+        }
+
+        Map<Long, SseEmitter> roomEmitters = rooms.computeIfAbsent(session.getExamRoom().getId(),
+                id -> new ConcurrentHashMap<>());
+        SseEmitter emitter = new SseEmitter(proctorMonitorConfig.getEmitterTimeout());
+        emitter.onCompletion(() -> roomEmitters.remove(sessionId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> roomEmitters.remove(sessionId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name("connected").data(toJson(Map.of(
+                    "sessionId", sessionId,
+                    "endTime", session.getEndTime()))));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        SseEmitter previous = roomEmitters.put(sessionId, emitter);
+        if (previous != null) {
+            previous.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Push an announcement to every connected student of the room
+     */
+    public RoomBroadcastResponse announce(Long examRoomId, AnnouncementRequest request) {
+        proctorMonitorService.checkRoomAccess(examRoomId);
+
+        RoomBroadcastResponse announcement = RoomBroadcastResponse.builder()
+                .examRoomId(examRoomId)
+                .message(request.getMessage())
+                .sentBy(currentUserProvider.getCurrentUserDetails().getFullName())
+                .sentAt(LocalDateTime.now())
+                .build();
+        announcement.setRecipients(broadcast(examRoomId, "announcement", announcement));
+
+        log.info("Announcement to exam room {} reached {} students", examRoomId, announcement.getRecipients());
+        return announcement;
+    }
+
+    /**
+     * Extend every session running in the room with one UPDATE, then notify its students
+     */
+    public RoomBroadcastResponse extendTime(Long examRoomId, ExtendTimeRequest request) {
+        proctorMonitorService.checkRoomAccess(examRoomId);
+
+        // Entry tickets keep the old end time; once it passes, starts fall back to the database path
+        int extended = examSessionRepository.extendRunningSessions(examRoomId, request.getMinutes(), LocalDateTime.now());
+
+        RoomBroadcastResponse extension = RoomBroadcastResponse.builder()
+                .examRoomId(examRoomId)
+                .message(request.getReason())
+                .extensionMinutes(request.getMinutes())
+                .sessionsExtended(extended)
+                .sentBy(currentUserProvider.getCurrentUserDetails().getFullName())
+                .sentAt(LocalDateTime.now())
+                .build();
+        extension.setRecipients(broadcast(examRoomId, "time-extended", extension));
+
+        log.info("Extended {} sessions in exam room {} by {} minutes", extended, examRoomId, request.getMinutes());
+        return extension;
+    }
+
+    /**
+     * Close the stream of a completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionActivity(ExamSessionActivityEvent event) {
+        if (event.getType() != ExamSessionActivityEvent.Type.COMPLETED || event.getExamRoomId() == null) {
+            return;
+        }
+        Map<Long, SseEmitter> roomEmitters = rooms.get(event.getExamRoomId());
+        SseEmitter emitter = roomEmitters != null ? roomEmitters.remove(event.getSessionId()) : null;
+        if (emitter != null) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Keep idle student streams open through proxies and detect disconnected clients
+     */
+    @Scheduled(fixedDelayString = "${app.proctor-monitor.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        rooms.keySet().forEach(examRoomId -> broadcast(examRoomId, SseEmitter.event().comment("ping").build()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private int broadcast(Long examRoomId, String name, Object payload) {
+        return broadcast(examRoomId, SseEmitter.event().name(name).data(toJson(payload)).build());
+    }
+
+    private int broadcast(Long examRoomId, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+        Map<Long, SseEmitter> roomEmitters = rooms.get(examRoomId);
+        if (roomEmitters == null) {
+            return 0;
+        }
+
+        int recipients = 0;
+        for (Map.Entry<Long, SseEmitter> entry : roomEmitters.entrySet()) {
+            SseEmitter emitter = entry.getValue();
+            sendExecutor.execute(() -> {
+                try {
+                    emitter.send(data);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the container completes the emitter
+                    roomEmitters.remove(entry.getKey(), emitter);
+                }
+            });
+            recipients++;
+        }
+        return recipients;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize broadcast", e);
+        }
+    }
+}
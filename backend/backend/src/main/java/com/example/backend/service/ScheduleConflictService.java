@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.projection.SessionWindowProjection;
+import com.example.backend.dto.response.ScheduleConflictResponse;
+import com.example.backend.entity.ExamRoom;
+import com.example.backend.repository.ExamSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Detects student double-booking and room over-capacity for scheduling batches.
+ * Active session windows of the batch's students and rooms are loaded once into interval indexes;
+ * each check afterwards is a pair of binary searches instead of a query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleConflictService {
+
+    /**
+     * Max IDs per IN clause, well below driver bind parameter limits
+     */
+    static final int ID_CHUNK_SIZE = 1000;
+
+    private final ExamSessionRepository examSessionRepository;
+
+    /**
+     * Active session windows of one scheduling batch, indexed by student and by exam room
+     */
+    public static final class ConflictIndex {
+
+        private final IntervalIndex<Long, SessionWindowProjection> byStudent = new IntervalIndex<>();
+        private final IntervalIndex<Long, SessionWindowProjection> byRoom = new IntervalIndex<>();
+
+        /**
+         * Record a session, existing or planned in this batch
+         */
+        public void add(SessionWindowProjection window) {
+            byStudent.add(window.getStudentId(), window.getStartTime(), window.getEndTime(), window);
+            if (window.getExamRoomId() != null) {
+                byRoom.add(window.getExamRoomId(), window.getStartTime(), window.getEndTime(), window);
+            }
+        }
+
+        /**
+         * Get a session of the student overlapping the window, or null
+         */
+        public SessionWindowProjection findStudentConflict(Long studentId, LocalDateTime start, LocalDateTime end) {
+            return byStudent.findOverlapping(studentId, start, end);
+        }
+
+        /**
+         * Count sessions of the student overlapping the window
+         */
+        public int countStudentSessions(Long studentId, LocalDateTime start, LocalDateTime end) {
+            return byStudent.countOverlapping(studentId, start, end);
+        }
+
+        /**
+         * Count sessions held in the room overlapping the window
+         */
+        public int countRoomSessions(Long examRoomId, LocalDateTime start, LocalDateTime end) {
+            return byRoom.countOverlapping(examRoomId, start, end);
+        }
+    }
+
+    /**
+     * Load active sessions of the students and rooms overlapping [from, to)
+     */
+    @Transactional(readOnly = true)
+    public ConflictIndex load(Collection<Long> studentIds, Collection<Long> examRoomIds,
+                              LocalDateTime from, LocalDateTime to) {
+        ConflictIndex index = new ConflictIndex();
+        Set<Long> indexed = new HashSet<>();
+        for (SessionWindowProjection window : inChunks(studentIds,
+                chunk -> examSessionRepository.findActiveWindowsByStudentIds(chunk, from, to))) {
+            index.add(window);
+            indexed.add(window.getSessionId());
+        }
+        // Sessions of the batch's students held in these rooms are already indexed
+        for (SessionWindowProjection window : inChunks(examRoomIds,
+                chunk -> examSessionRepository.findActiveWindowsByExamRoomIds(chunk, from, to))) {
+            if (indexed.add(window.getSessionId())) {
+                index.add(window);
+            }
+        }
+        log.debug("Loaded {} active session windows for {} students and {} rooms",
+                indexed.size(), studentIds.size(), examRoomIds.size());
+        return index;
+    }
+
+    /**
+     * Report conflicts of scheduling the students into one window and optional room
+     */
+    @Transactional(readOnly = true)
+    public ScheduleConflictResponse detect(Long examId, ExamRoom examRoom, List<Long> studentIds,
+                                           LocalDateTime startTime, LocalDateTime endTime) {
+        List<Long> examRoomIds = examRoom != null ? List.of(examRoom.getId()) : List.of();
+        ConflictIndex index = load(studentIds, examRoomIds, startTime, endTime);
+
+        int roomOccupied = examRoom != null ? index.countRoomSessions(examRoom.getId(), startTime, endTime) : 0;
+        List<ScheduleConflictResponse.StudentConflict> conflicts = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            SessionWindowProjection conflict = index.findStudentConflict(studentId, startTime, endTime);
+            if (conflict != null) {
+                conflicts.add(ScheduleConflictResponse.StudentConflict.builder()
+                        .studentId(studentId)
+                        .sessionId(conflict.getSessionId())
+                        .startTime(conflict.getStartTime())
+                        .endTime(conflict.getEndTime())
+                        .build());
+            }
+            // Planned sessions count too, so a student listed twice conflicts with itself
+            index.add(new SessionWindowProjection(null, studentId, null, startTime, endTime));
+        }
+
+        Integer capacity = examRoom != null ? examRoom.getCapacity() : null;
+        boolean overCapacity = capacity != null && roomOccupied + studentIds.size() > capacity;
+
+        return ScheduleConflictResponse.builder()
+                .examId(examId)
+                .examRoomId(examRoom != null ? examRoom.getId() : null)
+                .startTime(startTime)
+                .endTime(endTime)
+                .totalStudents(studentIds.size())
+                .hasConflicts(!conflicts.isEmpty() || overCapacity)
+                .studentConflicts(conflicts)
+                .roomCapacity(capacity)
+                .roomOccupiedCount(roomOccupied)
+                .roomOverCapacity(overCapacity)
+                .build();
+    }
+
+    /**
+     * Run an IN-list query over the IDs in chunks
+     */
+    static <T> List<T> inChunks(Iterable<Long> ids, Function<List<Long>, List<T>> query) {
+        List<T> results = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(ID_CHUNK_SIZE);
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == ID_CHUNK_SIZE) {
+                results.addAll(query.apply(chunk));
+                chunk = new ArrayList<>(ID_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(query.apply(chunk));
+        }
+        return results;
+    }
+}
@@ -7,11 +7,9 @@ import com.example.backend.entity.User;
 import com.example.backend.enums.ExamSessionStatus;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.*;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +34,7 @@ public class StatisticsService {
     private final ExamRepository examRepository;
     private final ExamSessionRepository examSessionRepository;
     private final StudentAnswerRepository studentAnswerRepository;
+    private final CurrentUserProvider currentUserProvider;
 
     /**
      * Get student statistics
@@ -358,15 +357,7 @@ public class StatisticsService {
      * Get current user's statistics
      */
     public StatisticsResponse.StudentStats getMyStatistics() {
-        User currentUser = getCurrentUser();
-        return getStudentStatistics(currentUser.getId());
-    }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        return getStudentStatistics(currentUserProvider.getCurrentUserId());
     }
 }
 
@@ -5,18 +5,17 @@ import com.example.backend.dto.request.UpdateSubjectRequest;
 import com.example.backend.dto.response.SubjectResponse;
 import com.example.backend.entity.Subject;
 import com.example.backend.entity.User;
+import com.example.backend.event.QuestionBankChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.mapper.SubjectMapper;
 import com.example.backend.repository.SubjectRepository;
-import com.example.backend.repository.UserRepository;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,8 +31,9 @@ import java.util.stream.Collectors;
 public class SubjectService {
 
     private final SubjectRepository subjectRepository;
-    private final UserRepository userRepository;
     private final SubjectMapper subjectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserProvider currentUserProvider;
 
     /**
      * Get all subjects
@@ -90,7 +90,7 @@ public class SubjectService {
             throw new BadRequestException("Subject code already exists: " + request.getCode());
         }
 
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
 
         Subject subject = Subject.builder()
                 .code(request.getCode())
@@ -130,9 +130,10 @@ public class SubjectService {
             subject.setIsActive(request.getIsActive());
         }
 
-        subject.setUpdatedBy(getCurrentUser());
+        subject.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         Subject updatedSubject = subjectRepository.save(subject);
 
+        eventPublisher.publishEvent(new QuestionBankChangedEvent(id));
         log.info("Subject updated successfully: {}", id);
         return subjectMapper.toSubjectResponse(updatedSubject);
     }
@@ -148,20 +149,11 @@ public class SubjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Subject", "id", id));
 
         subject.setIsActive(false);
-        subject.setUpdatedBy(getCurrentUser());
+        subject.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         subjectRepository.save(subject);
 
+        eventPublisher.publishEvent(new QuestionBankChangedEvent(id));
         log.info("Subject deleted successfully: {}", id);
     }
-
-    /**
-     * Get current authenticated user
-     */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-    }
 }
 
@@ -6,19 +6,19 @@ import com.example.backend.dto.request.UpdateUserRequest;
 import com.example.backend.dto.response.UserResponse;
 import com.example.backend.entity.Role;
 import com.example.backend.entity.User;
+import com.example.backend.event.UserStatusChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ForbiddenException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.mapper.UserMapper;
 import com.example.backend.repository.RoleRepository;
 import com.example.backend.repository.UserRepository;
-import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +35,8 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all users with pagination
@@ -77,7 +79,7 @@ public class UserService {
         log.info("Creating new user: {}", request.getUsername());
 
         // Check permissions: Teacher can only create STUDENT
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (currentUser.getRole().getName().equals("TEACHER") && 
             !request.getRole().equals("STUDENT")) {
             throw new ForbiddenException("Teachers can only create STUDENT users");
@@ -122,7 +124,7 @@ public class UserService {
                 .provider("local")
                 .isActive(request.getIsActive())
                 .isVerified(request.getIsVerified())
-                .createdBy(getCurrentUser())
+                .createdBy(currentUserProvider.getCurrentUserReference())
                 .build();
 
         User savedUser = userRepository.save(user);
@@ -142,7 +144,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         // Check if current user can update this user
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!currentUser.isAdmin() && !currentUser.getId().equals(id)) {
             throw new ForbiddenException("You don't have permission to update this user");
         }
@@ -195,7 +197,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         // Check if current user can change this password
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (!currentUser.getId().equals(id)) {
             throw new ForbiddenException("You can only change your own password");
         }
@@ -233,7 +235,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         // Prevent deleting self
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserProvider.getCurrentUser();
         if (currentUser.getId().equals(id)) {
             throw new BadRequestException("You cannot delete your own account");
         }
@@ -242,6 +244,7 @@ public class UserService {
         user.setIsActive(false);
         user.setUpdatedBy(currentUser);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(id, false));
 
         log.info("User deleted successfully: {}", id);
     }
@@ -257,27 +260,18 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         user.setIsActive(!user.getIsActive());
-        user.setUpdatedBy(getCurrentUser());
+        user.setUpdatedBy(currentUserProvider.getCurrentUserReference());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(id, user.getIsActive()));
 
         log.info("User status toggled: {} -> {}", id, user.getIsActive());
     }
 
-    /**
-     * Get current authenticated user
-     */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-    }
-
     /**
      * Get current authenticated user profile
      */
     public UserResponse getCurrentUserProfile() {
-        User user = getCurrentUser();
+        User user = currentUserProvider.getCurrentUser();
         return userMapper.toUserResponse(user);
     }
 }
@@ -0,0 +1,194 @@
+package com.example.backend.websocket;
+
+import com.example.backend.config.AnswerSocketConfig;
+import com.example.backend.dto.request.AnswerFrame;
+import com.example.backend.dto.request.SubmitAnswerRequest;
+import com.example.backend.dto.response.AnswerAck;
+import com.example.backend.event.ExamSessionActivityEvent;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.service.ExamSessionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.Session;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answer WebSocket of an in-progress exam session.
+ * Each text frame is one answer, saved through the same path as the REST autosave and acked with its sequence number;
+ * frames at or below the last saved sequence are resends and are acked again without saving, unless their save failed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnswerSocketHandler extends TextWebSocketHandler {
+
+    /**
+     * Close code telling the client a newer connection of the same session took over
+     */
+    private static final CloseStatus REPLACED = new CloseStatus(4000, "Replaced by a newer connection");
+
+    private static final String LAST_SEQ_ATTRIBUTE = "lastSeq";
+    private static final String FAILED_SEQS_ATTRIBUTE = "failedSeqs";
+
+    /**
+     * Failed sequence numbers remembered per connection, so their resends are saved instead of taken for duplicates
+     */
+    private static final int MAX_FAILED_SEQS = 256;
+    private static final String CONNECTION_ATTRIBUTE = "connection";
+
+    private final ExamSessionService examSessionService;
+    private final AnswerSocketConfig answerSocketConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Open connections by exam session
+     */
+    private final Map<Long, WebSocketSession> connections = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.setTextMessageSizeLimit(answerSocketConfig.getMaxFrameSize());
+        if (session instanceof StandardWebSocketSession standard) {
+            Session nativeSession = standard.getNativeSession(Session.class);
+            if (nativeSession != null) {
+                nativeSession.setMaxIdleTimeout(answerSocketConfig.getIdleTimeout());
+            }
+        }
+
+        // Acks and closes may come from different threads
+        WebSocketSession connection = new ConcurrentWebSocketSessionDecorator(session,
+                answerSocketConfig.getSendTimeLimit(), answerSocketConfig.getSendBufferSizeLimit());
+        session.getAttributes().put(CONNECTION_ATTRIBUTE, connection);
+        WebSocketSession previous = connections.put(getExamSessionId(session), connection);
+        if (previous != null) {
+            close(previous, REPLACED);
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        AnswerFrame frame;
+        try {
+            frame = objectMapper.readValue(message.getPayload(), AnswerFrame.class);
+        } catch (JsonProcessingException e) {
+            send(session, AnswerAck.builder().ok(false).error("Malformed answer frame").build());
+            return;
+        }
+        if (frame.getSeq() == null || frame.getQuestionId() == null) {
+            send(session, AnswerAck.builder().seq(frame.getSeq()).ok(false)
+                    .error("Sequence number and question ID are required").build());
+            return;
+        }
+
+        // Frames of one connection are delivered one at a time, so the attributes need no locking
+        Long lastSeq = (Long) session.getAttributes().get(LAST_SEQ_ATTRIBUTE);
+        @SuppressWarnings("unchecked")
+        Set<Long> failedSeqs = (Set<Long>) session.getAttributes()
+                .computeIfAbsent(FAILED_SEQS_ATTRIBUTE, k -> new HashSet<Long>());
+        if (lastSeq != null && frame.getSeq() <= lastSeq && !failedSeqs.contains(frame.getSeq())) {
+            send(session, AnswerAck.builder().seq(frame.getSeq()).ok(true).build());
+            return;
+        }
+
+        AnswerAck ack = save(session, frame);
+        if (ack.isOk()) {
+            failedSeqs.remove(frame.getSeq());
+            if (lastSeq == null || frame.getSeq() > lastSeq) {
+                session.getAttributes().put(LAST_SEQ_ATTRIBUTE, frame.getSeq());
+            }
+        } else if (failedSeqs.size() < MAX_FAILED_SEQS) {
+            failedSeqs.add(frame.getSeq());
+        } else {
+            // Cannot track more failures; a fresh connection starts without dedup state and saves every resend
+            send(session, ack);
+            close((WebSocketSession) session.getAttributes().get(CONNECTION_ATTRIBUTE), CloseStatus.SERVER_ERROR);
+            return;
+        }
+        send(session, ack);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Long examSessionId = getExamSessionId(session);
+        connections.remove(examSessionId, session.getAttributes().get(CONNECTION_ATTRIBUTE));
+        log.debug("Answer socket of session {} closed: {}", examSessionId, status);
+    }
+
+    /**
+     * Close the connection of a completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionActivity(ExamSessionActivityEvent event) {
+        if (event.getType() != ExamSessionActivityEvent.Type.COMPLETED) {
+            return;
+        }
+        WebSocketSession connection = connections.remove(event.getSessionId());
+        if (connection != null) {
+            close(connection, CloseStatus.NORMAL);
+        }
+    }
+
+    /**
+     * Save the answer as the student of the connection
+     */
+    private AnswerAck save(WebSocketSession session, AnswerFrame frame) {
+        SubmitAnswerRequest request = SubmitAnswerRequest.builder()
+                .questionId(frame.getQuestionId())
+                .answerId(frame.getAnswerId())
+                .answerText(frame.getAnswerText())
+                .timeSpentSeconds(frame.getTimeSpentSeconds())
+                .build();
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication((Authentication) session.getAttributes().get(AnswerSocketHandshakeInterceptor.AUTHENTICATION_ATTRIBUTE));
+        SecurityContextHolder.setContext(context);
+        try {
+            examSessionService.submitAnswer(getExamSessionId(session), request);
+            return AnswerAck.builder().seq(frame.getSeq()).ok(true).build();
+        } catch (BadRequestException | ForbiddenException | ResourceNotFoundException e) {
+            return AnswerAck.builder().seq(frame.getSeq()).ok(false).error(e.getMessage()).build();
+        } catch (Exception e) {
+            log.error("Failed to save answer frame {} of session {}", frame.getSeq(), getExamSessionId(session), e);
+            return AnswerAck.builder().seq(frame.getSeq()).ok(false).error("An unexpected error occurred").build();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void send(WebSocketSession session, AnswerAck ack) throws IOException {
+        WebSocketSession connection = (WebSocketSession) session.getAttributes().get(CONNECTION_ATTRIBUTE);
+        connection.sendMessage(new TextMessage(objectMapper.writeValueAsString(ack)));
+    }
+
+    private static void close(WebSocketSession connection, CloseStatus status) {
+        try {
+            connection.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close answer socket {}", connection.getId(), e);
+        }
+    }
+
+    private static Long getExamSessionId(WebSocketSession session) {
+        return (Long) session.getAttributes().get(AnswerSocketHandshakeInterceptor.SESSION_ID_ATTRIBUTE);
+    }
+}
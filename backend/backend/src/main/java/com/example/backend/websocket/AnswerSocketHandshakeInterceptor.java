@@ -0,0 +1,112 @@
+package com.example.backend.websocket;
+
+import com.example.backend.config.JwtConfig;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.security.JwtTokenProvider;
+import com.example.backend.security.TokenRevocationService;
+import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.service.ExamSessionStartBatcher;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Authenticates answer WebSocket handshakes once for the whole connection.
+ * Accepts the access token as a Bearer header or, for browsers that cannot set headers, an access_token query parameter;
+ * only the student of an in-progress session may connect.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnswerSocketHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String SESSION_ID_ATTRIBUTE = "examSessionId";
+    static final String AUTHENTICATION_ATTRIBUTE = "authentication";
+
+    private static final String TOKEN_PARAMETER = "access_token";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtConfig jwtConfig;
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamSessionStartBatcher examSessionStartBatcher;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Claims claims = jwtTokenProvider.verifyAndGetClaims(getToken(request));
+        if (claims == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        UserDetailsImpl userDetails = UserDetailsImpl.fromClaims(claims);
+        if (tokenRevocationService.isRevoked(userDetails.getId(), claims.getIssuedAt())) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        if (userDetails.getAuthorities().stream().noneMatch(a -> "ROLE_STUDENT".equals(a.getAuthority()))) {
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+
+        Long sessionId = getSessionId(request);
+        ExamSession session = sessionId != null ? examSessionRepository.findById(sessionId).orElse(null) : null;
+        if (session == null) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+        if (!session.getStudent().getId().equals(userDetails.getId())) {
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+        examSessionStartBatcher.applyPending(session);
+        if (session.getStatus() != ExamSessionStatus.IN_PROGRESS) {
+            response.setStatusCode(HttpStatus.CONFLICT);
+            return false;
+        }
+
+        attributes.put(SESSION_ID_ATTRIBUTE, sessionId);
+        attributes.put(AUTHENTICATION_ATTRIBUTE,
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        log.debug("Answer socket handshake accepted for session: {}", sessionId);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private String getToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(jwtConfig.getHeaderName());
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(jwtConfig.getTokenPrefix())) {
+            return bearerToken.substring(jwtConfig.getTokenPrefix().length());
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(TOKEN_PARAMETER);
+    }
+
+    /**
+     * Session ID from /ws/exam-sessions/{sessionId}/answers
+     */
+    private static Long getSessionId(ServerHttpRequest request) {
+        String[] segments = request.getURI().getPath().split("/");
+        try {
+            return segments.length >= 2 ? Long.valueOf(segments[segments.length - 2]) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.QueryBudgetConfig;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.Chapter;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Passage;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.Subject;
+import com.example.backend.entity.User;
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.enums.QuestionType;
+import com.example.backend.monitoring.RequestQueries;
+import com.example.backend.repository.RoleRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtTokenProvider;
+import com.example.backend.security.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the exam-day endpoints against N+1 regressions: statements per request must not grow with the number
+ * of questions, answers or sessions, and no statement shape may repeat past the query budget threshold
+ */
+// Autosaving a whole exam in a tight loop would trip the per-user submit-answer limit
+@SpringBootTest(properties = "app.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExamSessionQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private QueryBudgetConfig queryBudgetConfig;
+
+    private record Seeded(String token, List<Long> sessionIds, List<Question> questions) {
+    }
+
+    @Test
+    void startExamDoesNotGrowWithQuestions() throws Exception {
+        Seeded small = seed(5, 1);
+        Seeded large = seed(40, 1);
+
+        RequestQueries smallStart = perform(post(examSessionPath(small, "/start")), small.token());
+        RequestQueries largeStart = perform(post(examSessionPath(large, "/start")), large.token());
+
+        assertEquals(smallStart.getStatements(), largeStart.getStatements());
+        assertWithinBudget(largeStart);
+    }
+
+    @Test
+    void resumeExamDoesNotGrowWithAnswers() throws Exception {
+        Seeded seeded = seed(20, 1);
+        perform(post(examSessionPath(seeded, "/start")), seeded.token());
+        RequestQueries unanswered = perform(post(examSessionPath(seeded, "/start")), seeded.token());
+
+        for (Question question : seeded.questions()) {
+            perform(submitAnswer(seeded, question), seeded.token());
+        }
+        RequestQueries answered = perform(post(examSessionPath(seeded, "/start")), seeded.token());
+
+        assertEquals(unanswered.getStatements(), answered.getStatements());
+        assertWithinBudget(answered);
+    }
+
+    @Test
+    void submitAnswerDoesNotGrowWithAnswers() throws Exception {
+        Seeded seeded = seed(20, 1);
+        perform(post(examSessionPath(seeded, "/start")), seeded.token());
+
+        // Fill-in-blank saves skip the option lookup, so compare multiple-choice saves only
+        List<RequestQueries> submissions = new ArrayList<>();
+        for (Question question : seeded.questions()) {
+            RequestQueries submission = perform(submitAnswer(seeded, question), seeded.token());
+            if (question.getQuestionType() == QuestionType.MULTIPLE_CHOICE) {
+                submissions.add(submission);
+            }
+        }
+
+        // The first save may initialize lazy state shared by later ones
+        RequestQueries second = submissions.get(1);
+        for (RequestQueries submission : submissions.subList(1, submissions.size())) {
+            assertEquals(second.getStatements(), submission.getStatements());
+        }
+        assertWithinBudget(submissions.get(submissions.size() - 1));
+    }
+
+    @Test
+    void completeExamDoesNotRepeatStatements() throws Exception {
+        Seeded seeded = seed(40, 1);
+        perform(post(examSessionPath(seeded, "/start")), seeded.token());
+        for (Question question : seeded.questions()) {
+            perform(submitAnswer(seeded, question), seeded.token());
+        }
+
+        assertWithinBudget(perform(post(examSessionPath(seeded, "/complete")), seeded.token()));
+    }
+
+    @Test
+    void myExamsDoesNotGrowWithSessions() throws Exception {
+        Seeded one = seed(5, 1);
+        Seeded many = seed(5, 8);
+
+        RequestQueries oneSession = perform(get("/api/exam-sessions/my-exams"), one.token());
+        RequestQueries manySessions = perform(get("/api/exam-sessions/my-exams"), many.token());
+
+        assertEquals(oneSession.getStatements(), manySessions.getStatements());
+        assertWithinBudget(manySessions);
+    }
+
+    @Test
+    void actuatorListsMeasuredEndpoints() throws Exception {
+        Seeded seeded = seed(5, 1);
+        perform(post(examSessionPath(seeded, "/start")), seeded.token());
+
+        String adminToken = transactionTemplate.execute(status -> jwtTokenProvider.generateAccessToken(
+                UserDetailsImpl.build(userRepository.findByUsername("admin").orElseThrow())));
+        mockMvc.perform(get("/api/actuator/querybudget").contextPath("/api")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints[*].endpoint", hasItem("POST /exam-sessions/{id}/start")));
+
+        mockMvc.perform(get("/api/actuator/querybudget").contextPath("/api")
+                        .header("Authorization", "Bearer " + seeded.token()))
+                .andExpect(status().isForbidden());
+    }
+
+    private RequestQueries perform(MockHttpServletRequestBuilder request, String token) throws Exception {
+        MvcResult result = mockMvc.perform(request.contextPath("/api").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        RequestQueries queries = RequestQueries.of(result.getRequest());
+        assertNotNull(queries, "query budget filter did not run");
+        return queries;
+    }
+
+    private void assertWithinBudget(RequestQueries queries) {
+        assertTrue(queries.getStatements() <= queryBudgetConfig.getMaxStatements(),
+                () -> queries.getStatements() + " statements, budget " + queryBudgetConfig.getMaxStatements());
+        Map.Entry<String, Integer> repeated = queries.mostRepeated();
+        assertTrue(repeated == null || repeated.getValue() <= queryBudgetConfig.getRepeatThreshold(),
+                () -> "repeated " + repeated.getValue() + " times: " + repeated.getKey());
+    }
+
+    private static String examSessionPath(Seeded seeded, String action) {
+        return "/api/exam-sessions/" + seeded.sessionIds().get(0) + action;
+    }
+
+    private static MockHttpServletRequestBuilder submitAnswer(Seeded seeded, Question question) {
+        String body = question.getQuestionType() == QuestionType.FILL_IN_BLANK
+                ? "{\"questionId\":" + question.getId() + ",\"answerText\":\"answer\",\"timeSpentSeconds\":30}"
+                : "{\"questionId\":" + question.getId() + ",\"answerId\":" + question.getAnswers().get(0).getId()
+                + ",\"timeSpentSeconds\":30}";
+        return post(examSessionPath(seeded, "/submit-answer"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    /**
+     * A student with the given number of open sessions of one exam; every tenth question is fill-in-blank
+     */
+    private Seeded seed(int questionCount, int sessionCount) {
+        return transactionTemplate.execute(status -> {
+            String run = Long.toString(System.nanoTime(), 36);
+
+            Subject subject = Subject.builder().code("QB-" + run).name("Query budget subject").build();
+            entityManager.persist(subject);
+            Chapter chapter = Chapter.builder().subject(subject).chapterNumber(1).title("Chapter 1").displayOrder(1).build();
+            entityManager.persist(chapter);
+            Passage passage = Passage.builder().chapter(chapter).title("Passage 1").displayOrder(1).build();
+            entityManager.persist(passage);
+
+            Exam exam = Exam.builder()
+                    .subject(subject)
+                    .title("Query budget exam")
+                    .durationMinutes(90)
+                    .totalQuestions(questionCount)
+                    .totalPoints(BigDecimal.valueOf(questionCount))
+                    .passingScore(BigDecimal.valueOf(50))
+                    .isShuffled(false)
+                    .isShuffleAnswers(false)
+                    .showResultImmediately(false)
+                    .allowReview(true)
+                    .build();
+            entityManager.persist(exam);
+
+            List<Question> questions = new ArrayList<>();
+            for (int q = 1; q <= questionCount; q++) {
+                boolean fillInBlank = q % 10 == 0;
+                Question question = Question.builder()
+                        .passage(passage)
+                        .questionType(fillInBlank ? QuestionType.FILL_IN_BLANK : QuestionType.MULTIPLE_CHOICE)
+                        .content("Question " + q)
+                        .difficultyLevel(DifficultyLevel.MEDIUM)
+                        .points(BigDecimal.ONE)
+                        .displayOrder(q)
+                        .build();
+                entityManager.persist(question);
+                for (int a = 1; a <= (fillInBlank ? 1 : 4); a++) {
+                    Answer answer = Answer.builder()
+                            .question(question)
+                            .content(fillInBlank ? "answer" : "Option " + a)
+                            .isCorrect(a == 1)
+                            .displayOrder(a)
+                            .build();
+                    entityManager.persist(answer);
+                    question.getAnswers().add(answer);
+                }
+                entityManager.persist(ExamQuestion.builder()
+                        .exam(exam)
+                        .question(question)
+                        .displayOrder(q)
+                        .points(BigDecimal.ONE)
+                        .build());
+                questions.add(question);
+            }
+
+            User student = User.builder()
+                    .username("qb-" + run)
+                    .email("qb-" + run + "@test.com")
+                    .passwordHash("hash")
+                    .fullName("Query Budget Student")
+                    .role(roleRepository.findByName("STUDENT").orElseThrow())
+                    .provider("local")
+                    .isVerified(true)
+                    .build();
+            entityManager.persist(student);
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> sessionIds = new ArrayList<>();
+            for (int s = 1; s <= sessionCount; s++) {
+                ExamSession session = ExamSession.builder()
+                        .exam(exam)
+                        .student(student)
+                        .sessionCode("QB-" + run + "-" + s)
+                        .startTime(now.minusMinutes(s))
+                        .endTime(now.plusMinutes(90))
+                        .status(ExamSessionStatus.SCHEDULED)
+                        .build();
+                entityManager.persist(session);
+                sessionIds.add(session.getId());
+            }
+
+            String token = jwtTokenProvider.generateAccessToken(UserDetailsImpl.build(student));
+            return new Seeded(token, sessionIds, questions);
+        });
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.backend.load;
+
+import com.example.backend.dto.response.QueryBudgetResponse;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.Chapter;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Passage;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.Subject;
+import com.example.backend.entity.User;
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.enums.QuestionType;
+import com.example.backend.monitoring.QueryBudgetMonitor;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.repository.RoleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replays the 09:00 rush of an exam day: every student logs in at once, opens my-exams, starts the exam with its
+ * entry ticket, autosaves answers and completes. Each student is a virtual thread driving the real HTTP stack;
+ * statements per request come from the query budget monitor.
+ * <p>
+ * Run with {@code mvn test -Pload-test}; size the run with {@code -Dload.students}, {@code -Dload.questions},
+ * {@code -Dload.answers}, {@code -Dload.think-time} (milliseconds between answers) and {@code -Dload.ramp-up}
+ * (milliseconds over which logins are spread), and the pool with {@code -Dspring.datasource.hikari.maximum-pool-size}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Per-session service logs would drown the report
+        "logging.level.com.example.backend=WARN",
+        "logging.level.com.example.backend.load=INFO",
+        "management.metrics.distribution.percentiles.hikaricp.connections.acquire=0.5,0.95,0.99"
+})
+@ActiveProfiles("test")
+@Slf4j
+class ExamDayLoadSimulationTest {
+
+    private static final int STUDENTS = Integer.getInteger("load.students", 200);
+    private static final int QUESTIONS = Integer.getInteger("load.questions", 40);
+    private static final int ANSWERS = Integer.getInteger("load.answers", 20);
+    private static final long THINK_TIME = Long.getLong("load.think-time", 0);
+    private static final long RAMP_UP = Long.getLong("load.ramp-up", 0);
+
+    private static final String PASSWORD = "Student@123";
+    private static final int MAX_ATTEMPTS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ExamSessionRepository examSessionRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private QueryBudgetMonitor queryBudgetMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadReport report = new LoadReport();
+
+    private HttpClient httpClient;
+
+    @Test
+    void examDayRush() throws Exception {
+        List<String> usernames = seed();
+        queryBudgetMonitor.reset();
+
+        CountDownLatch nineOClock = new CountDownLatch(1);
+        List<Future<?>> students = new ArrayList<>(usernames.size());
+        long startStatements = queryBudgetMonitor.getReport().getStatementsOutsideRequests();
+        long started;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build();
+            for (String username : usernames) {
+                students.add(clients.submit(() -> {
+                    nineOClock.await();
+                    if (RAMP_UP > 0) {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(RAMP_UP));
+                    }
+                    takeExam(username);
+                    return null;
+                }));
+            }
+            started = System.nanoTime();
+            nineOClock.countDown();
+            for (Future<?> student : students) {
+                student.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        QueryBudgetResponse queries = queryBudgetMonitor.getReport();
+        log.info("Exam day rush: {} students, {} questions, {} answers each{}", STUDENTS, QUESTIONS, ANSWERS,
+                report.format(queries, meterRegistry, queries.getStatementsOutsideRequests() - startStatements, elapsed));
+
+        assertEquals(0, report.errors(), "requests failed during the rush");
+        assertEquals(STUDENTS, examSessionRepository.findAll().stream()
+                .filter(session -> session.getStatus() == ExamSessionStatus.COMPLETED)
+                .count());
+    }
+
+    /**
+     * One student's exam from login to completion
+     */
+    private void takeExam(String username) throws IOException, InterruptedException {
+        JsonNode auth = call("POST /auth/login", "/auth/login", null, null,
+                Map.of("usernameOrEmail", username, "password", PASSWORD));
+        String token = auth.path("accessToken").asText();
+
+        JsonNode session = call("GET /exam-sessions/my-exams", "/exam-sessions/my-exams", token, null, null)
+                .path("content").path(0);
+        long sessionId = session.path("id").asLong();
+
+        JsonNode exam = call("POST /exam-sessions/{id}/start", "/exam-sessions/" + sessionId + "/start", token,
+                session.path("entryTicket").asText(null), Map.of());
+
+        JsonNode questions = exam.path("questions");
+        for (int i = 0; i < Math.min(ANSWERS, questions.size()); i++) {
+            if (THINK_TIME > 0) {
+                Thread.sleep(THINK_TIME);
+            }
+            JsonNode question = questions.path(i);
+            JsonNode options = question.path("answers");
+            Map<String, Object> answer = QuestionType.FILL_IN_BLANK.name().equals(question.path("questionType").asText())
+                    ? Map.of("questionId", question.path("questionId").asLong(), "answerText", "answer", "timeSpentSeconds", 30)
+                    : Map.of("questionId", question.path("questionId").asLong(), "timeSpentSeconds", 30,
+                    "answerId", options.path(ThreadLocalRandom.current().nextInt(options.size())).path("id").asLong());
+            call("POST /exam-sessions/{id}/submit-answer", "/exam-sessions/" + sessionId + "/submit-answer", token,
+                    null, answer);
+        }
+
+        call("POST /exam-sessions/{id}/complete", "/exam-sessions/" + sessionId + "/complete", token, null, Map.of());
+    }
+
+    /**
+     * Send one request, retrying load-shedding responses after their Retry-After like the web client does;
+     * returns the data of the API response
+     */
+    private JsonNode call(String endpoint, String path, String token, String entryTicket, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (entryTicket != null) {
+            request.header("X-Exam-Ticket", entryTicket);
+        }
+        request = body != null
+                ? request.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                : request.GET();
+
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            report.recordLatency(endpoint, System.nanoTime() - start, response.statusCode());
+
+            int status = response.statusCode();
+            if ((status == 429 || status == 503) && attempt < MAX_ATTEMPTS) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(retryAfter * 1000 + ThreadLocalRandom.current().nextLong(500));
+                continue;
+            }
+            if (status >= 400) {
+                log.warn("{} failed with {}: {}", endpoint, status, new String(response.body()));
+                throw new IllegalStateException(endpoint + " failed with " + status);
+            }
+            return objectMapper.readTree(response.body()).path("data");
+        }
+    }
+
+    /**
+     * Students, an exam with its questions and one session each, open since a minute ago
+     */
+    private List<String> seed() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        String run = Long.toString(System.nanoTime(), 36);
+
+        return transactionTemplate.execute(status -> {
+            Role studentRole = roleRepository.findByName("STUDENT").orElseThrow();
+
+            Subject subject = Subject.builder().code("LOAD-" + run).name("Load simulation").build();
+            entityManager.persist(subject);
+            Chapter chapter = Chapter.builder().subject(subject).chapterNumber(1).title("Chapter 1").displayOrder(1).build();
+            entityManager.persist(chapter);
+            Passage passage = Passage.builder().chapter(chapter).title("Passage 1").displayOrder(1).build();
+            entityManager.persist(passage);
+
+            Exam exam = Exam.builder()
+                    .subject(subject)
+                    .title("Load simulation exam")
+                    .durationMinutes(90)
+                    .totalQuestions(QUESTIONS)
+                    .totalPoints(BigDecimal.valueOf(QUESTIONS))
+                    .passingScore(BigDecimal.valueOf(50))
+                    .isShuffled(true)
+                    .isShuffleAnswers(true)
+                    .showResultImmediately(false)
+                    .allowReview(true)
+                    .build();
+            entityManager.persist(exam);
+
+            for (int q = 1; q <= QUESTIONS; q++) {
+                // Every tenth question is fill-in-blank, like the real banks
+                boolean fillInBlank = q % 10 == 0;
+                Question question = Question.builder()
+                        .passage(passage)
+                        .questionType(fillInBlank ? QuestionType.FILL_IN_BLANK : QuestionType.MULTIPLE_CHOICE)
+                        .content("Question " + q)
+                        .difficultyLevel(DifficultyLevel.MEDIUM)
+                        .points(BigDecimal.ONE)
+                        .displayOrder(q)
+                        .build();
+                entityManager.persist(question);
+                for (int a = 1; a <= (fillInBlank ? 1 : 4); a++) {
+                    entityManager.persist(Answer.builder()
+                            .question(question)
+                            .content(fillInBlank ? "answer" : "Option " + a)
+                            .isCorrect(a == 1)
+                            .displayOrder(a)
+                            .build());
+                }
+                entityManager.persist(ExamQuestion.builder()
+                        .exam(exam)
+                        .question(question)
+                        .displayOrder(q)
+                        .points(BigDecimal.ONE)
+                        .build());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<String> usernames = new ArrayList<>(STUDENTS);
+            for (int s = 1; s <= STUDENTS; s++) {
+                String username = "load-" + run + "-" + s;
+                User student = User.builder()
+                        .username(username)
+                        .email(username + "@load.test")
+                        .passwordHash(passwordHash)
+                        .fullName("Load Student " + s)
+                        .role(studentRole)
+                        .provider("local")
+                        .isVerified(true)
+                        .build();
+                entityManager.persist(student);
+                entityManager.persist(ExamSession.builder()
+                        .exam(exam)
+                        .student(student)
+                        .sessionCode("LOAD-" + run + "-" + s)
+                        .startTime(now.minusMinutes(1))
+                        .endTime(now.plusMinutes(90))
+                        .status(ExamSessionStatus.SCHEDULED)
+                        .build());
+                usernames.add(username);
+                if (s % 100 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    studentRole = entityManager.getReference(Role.class, studentRole.getId());
+                    exam = entityManager.getReference(Exam.class, exam.getId());
+                }
+            }
+            return usernames;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.load;
+
+import com.example.backend.dto.response.QueryBudgetResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies seen by the simulated clients, joined with the server's query budget report by endpoint pattern
+ */
+class LoadReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void recordLatency(String endpoint, long nanos, int status) {
+        Endpoint stats = endpoint(endpoint);
+        stats.latencies.add(nanos);
+        if (status == 429 || status == 503) {
+            stats.rejected.incrementAndGet();
+        } else if (status >= 400) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    int errors() {
+        return endpoints.values().stream().mapToInt(e -> e.errors.get()).sum();
+    }
+
+    String format(QueryBudgetResponse queries, MeterRegistry meterRegistry, long backgroundStatements, long elapsedNanos) {
+        Map<String, QueryBudgetResponse.EndpointQueries> statements = queries.getEndpoints().stream()
+                .collect(Collectors.toMap(QueryBudgetResponse.EndpointQueries::getEndpoint, e -> e));
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%-38s %8s %6s %6s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors",
+                "shed", "p50 ms", "p95 ms", "p99 ms", "max ms", "sql/req", "sql max"));
+        endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Endpoint stats = entry.getValue();
+            long[] latencies = stats.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            QueryBudgetResponse.EndpointQueries server = statements.get(entry.getKey());
+            out.append(String.format("%-38s %8d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.2f %9d%n", entry.getKey(),
+                    latencies.length, stats.errors.get(), stats.rejected.get(),
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.95)),
+                    millis(percentile(latencies, 0.99)), millis(percentile(latencies, 1.0)),
+                    server != null ? server.getAvgStatements() : 0, server != null ? server.getMaxStatements() : 0));
+        });
+        out.append(String.format("statements outside requests (batch flushes, scheduled jobs): %d%n", backgroundStatements));
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            HistogramSnapshot snapshot = acquire.takeSnapshot();
+            out.append(String.format("pool wait: %d acquisitions, mean %.2f ms, max %.2f ms",
+                    snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                out.append(String.format(", p%.0f %.2f ms", value.percentile() * 100, value.value(TimeUnit.MILLISECONDS)));
+            }
+            out.append(String.format(", %.0f timeouts%n",
+                    meterRegistry.find("hikaricp.connections.timeout").counters().stream()
+                            .mapToDouble(c -> c.count()).sum()));
+        }
+        out.append(String.format("wall time: %.1f s%n", elapsedNanos / 1e9));
+        return out.toString();
+    }
+
+    private Endpoint endpoint(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static class Endpoint {
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.security;
+
+import com.example.backend.config.ExamTicketConfig;
+import com.example.backend.config.JwtConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Issue/verify round trip of exam entry tickets on servers outside UTC
+ */
+class ExamTicketServiceTest {
+
+    private TimeZone defaultZone;
+    private ExamTicketService service;
+
+    @BeforeEach
+    void setUp() {
+        defaultZone = TimeZone.getDefault();
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("test-secret");
+        service = new ExamTicketService(new ExamTicketConfig(), jwtConfig);
+        service.init();
+    }
+
+    @AfterEach
+    void restoreZone() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    void roundTrip_westOfUtc() {
+        assertRoundTrip("America/New_York");
+    }
+
+    @Test
+    void roundTrip_eastOfUtc() {
+        assertRoundTrip("Asia/Ho_Chi_Minh");
+    }
+
+    @Test
+    void verify_endedSession_isExpired() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertNull(service.verify(service.issue(1L, 2L, now.minusMinutes(90), now.minusMinutes(1))));
+    }
+
+    @Test
+    void verify_tamperedTicket_isRejected() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String ticket = service.issue(1L, 2L, now, now.plusMinutes(90));
+
+        assertNull(service.verify("x" + ticket));
+        assertNull(service.verify(ticket.substring(0, ticket.length() - 2)));
+    }
+
+    private void assertRoundTrip(String zone) {
+        TimeZone.setDefault(TimeZone.getTimeZone(zone));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime start = now.minusMinutes(5);
+        LocalDateTime end = now.plusMinutes(90);
+
+        ExamTicketService.ExamTicket ticket = service.verify(service.issue(1L, 2L, start, end));
+
+        assertNotNull(ticket, "ticket issued for a running session must verify in " + zone);
+        assertEquals(1L, ticket.sessionId());
+        assertEquals(2L, ticket.studentId());
+        assertEquals(start, ticket.startTime());
+        assertEquals(end, ticket.endTime());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.security;
+
+import com.example.backend.config.GoogleAuthConfig;
+import com.example.backend.config.GoogleClientConfig;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ServiceUnavailableException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Google ID token verification against a local JWKS stand-in
+ */
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client-id.apps.googleusercontent.com";
+
+    private static HttpServer jwksServer;
+    private static RSAKey signingKey;
+    private static final AtomicInteger jwksRequests = new AtomicInteger();
+
+    private static GoogleTokenVerifier verifier;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        byte[] jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        verifier = verifier(jwksServer);
+    }
+
+    private static GoogleTokenVerifier verifier(HttpServer server) {
+        GoogleAuthConfig config = new GoogleAuthConfig();
+        config.setClientIds(List.of(CLIENT_ID));
+        config.setJwkSetUri("http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+
+        GoogleClientConfig clientConfig = new GoogleClientConfig();
+        JdkClientHttpRequestFactory requestFactory = clientConfig.googleRequestFactory(config);
+        return new GoogleTokenVerifier(
+                clientConfig.googleIdTokenDecoder(config, requestFactory),
+                clientConfig.googleRestClient(requestFactory),
+                config
+        );
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void verifyIdToken_validToken_returnsUserInfoAndCachesKeys() throws Exception {
+        GoogleOAuth2UserInfo first = verifier.verifyIdToken(idToken(signingKey, "https://accounts.google.com", CLIENT_ID, 3600, true));
+        GoogleOAuth2UserInfo second = verifier.verifyIdToken(idToken(signingKey, "accounts.google.com", CLIENT_ID, 3600, true));
+
+        assertEquals("student@example.com", first.getEmail());
+        assertEquals("google-sub-1", first.getId());
+        assertEquals("Test Student", second.getName());
+        assertEquals(1, jwksRequests.get(), "JWKS should be fetched once and reused");
+    }
+
+    @Test
+    void verifyIdToken_wrongAudience_isRejected() {
+        assertThrows(BadRequestException.class, () ->
+                verifier.verifyIdToken(idToken(signingKey, "https://accounts.google.com", "other-client", 3600, true)));
+    }
+
+    @Test
+    void verifyIdToken_wrongIssuer_isRejected() {
+        assertThrows(BadRequestException.class, () ->
+                verifier.verifyIdToken(idToken(signingKey, "https://evil.example.com", CLIENT_ID, 3600, true)));
+    }
+
+    @Test
+    void verifyIdToken_expiredToken_isRejected() {
+        assertThrows(BadRequestException.class, () ->
+                verifier.verifyIdToken(idToken(signingKey, "https://accounts.google.com", CLIENT_ID, -3600, true)));
+    }
+
+    @Test
+    void verifyIdToken_foreignSigningKey_isRejected() throws Exception {
+        RSAKey foreignKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        assertThrows(BadRequestException.class, () ->
+                verifier.verifyIdToken(idToken(foreignKey, "https://accounts.google.com", CLIENT_ID, 3600, true)));
+    }
+
+    @Test
+    void verifyIdToken_unverifiedEmail_isRejected() {
+        assertThrows(BadRequestException.class, () ->
+                verifier.verifyIdToken(idToken(signingKey, "https://accounts.google.com", CLIENT_ID, 3600, false)));
+    }
+
+    @Test
+    void verifyIdToken_jwksUnreachable_isUnavailable() throws Exception {
+        HttpServer unreachable = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        unreachable.start();
+        GoogleTokenVerifier coldVerifier = verifier(unreachable);
+        unreachable.stop(0);
+
+        assertThrows(ServiceUnavailableException.class, () ->
+                coldVerifier.verifyIdToken(idToken(signingKey, "https://accounts.google.com", CLIENT_ID, 3600, true)));
+    }
+
+    private static String idToken(RSAKey key, String issuer, String audience, long expiresInSeconds, boolean emailVerified)
+            throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .audience(audience)
+                .subject("google-sub-1")
+                .issueTime(Date.from(now.minusSeconds(60)))
+                .expirationTime(Date.from(now.plusSeconds(expiresInSeconds)))
+                .claim("email", "student@example.com")
+                .claim("email_verified", emailVerified)
+                .claim("name", "Test Student")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
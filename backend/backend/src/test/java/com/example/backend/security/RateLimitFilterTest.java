@@ -0,0 +1,64 @@
+package com.example.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Login rate limiting: students sharing one address (NAT, reverse proxy) get a bucket per username
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.rules[0].pattern=/auth/login",
+        "app.rate-limit.rules[0].method=POST",
+        "app.rate-limit.rules[0].permits-per-second=0.01",
+        "app.rate-limit.rules[0].burst=3",
+        "app.rate-limit.rules[0].username-fields=usernameOrEmail,email",
+        "app.rate-limit.rules[0].ip-permits-per-second=0.01",
+        "app.rate-limit.rules[0].ip-burst=8"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void sameUsernameIsLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(401, login("10.0.0.1", "usernameOrEmail", "alice"));
+        }
+        // Case and alias do not open a fresh bucket
+        assertEquals(429, login("10.0.0.1", "email", " ALICE "));
+        // Other addresses are unaffected
+        assertEquals(401, login("10.0.0.2", "usernameOrEmail", "alice"));
+    }
+
+    @Test
+    void usernamesBehindOneAddressHaveOwnBuckets() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            assertEquals(401, login("10.0.1.1", "usernameOrEmail", "student" + i));
+        }
+        // The address as a whole is still capped
+        assertEquals(429, login("10.0.1.1", "usernameOrEmail", "student8"));
+    }
+
+    private int login(String remoteAddr, String field, String username) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/auth/login").contextPath("/api")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"" + field + "\":\"" + username + "\",\"password\":\"wrong-password\"}")
+                .with(req -> {
+                    req.setRemoteAddr(remoteAddr);
+                    return req;
+                });
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.security;
+
+import com.example.backend.config.JwtConfig;
+import com.example.backend.dto.projection.TokenCutoffProjection;
+import com.example.backend.event.UserStatusChangedEvent;
+import com.example.backend.event.UserTokensRevokedEvent;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reloads of the revocation state must not undo status changes committed while they ran,
+ * and must pick up logouts stored by other instances
+ */
+class TokenRevocationServiceTest {
+
+    private static final Long USER_ID = 5L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenRevocationService service = new TokenRevocationService(userRepository, new JwtConfig());
+
+    @Test
+    void deactivationDuringReload_survivesStaleSnapshot() {
+        // The reload reads the state from before the deactivation committed
+        when(userRepository.findInactiveUserIds()).thenAnswer(invocation -> {
+            service.onUserStatusChanged(new UserStatusChangedEvent(USER_ID, false));
+            return List.of();
+        });
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(USER_ID, new Date()));
+    }
+
+    @Test
+    void laterReload_replacesLocalChange() {
+        service.onUserStatusChanged(new UserStatusChangedEvent(USER_ID, false));
+        // Reactivated on another instance; this reload started after the local change
+        when(userRepository.findInactiveUserIds()).thenReturn(List.of());
+
+        service.refresh();
+
+        assertFalse(service.isRevoked(USER_ID, new Date()));
+    }
+
+    @Test
+    void logoutOnAnotherInstance_isLoaded() {
+        LocalDateTime loggedOutAt = LocalDateTime.now().minusMinutes(1);
+        when(userRepository.findTokenCutoffsAfter(any()))
+                .thenReturn(List.of(new TokenCutoffProjection(USER_ID, loggedOutAt)));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(USER_ID, toDate(loggedOutAt.minusMinutes(5))));
+        assertFalse(service.isRevoked(USER_ID, toDate(loggedOutAt.plusSeconds(5))));
+    }
+
+    @Test
+    void reload_keepsNewerLocalLogout() {
+        LocalDateTime loggedOutAt = LocalDateTime.now();
+        service.onUserTokensRevoked(new UserTokensRevokedEvent(USER_ID, loggedOutAt));
+        when(userRepository.findTokenCutoffsAfter(any()))
+                .thenReturn(List.of(new TokenCutoffProjection(USER_ID, loggedOutAt.minusHours(1))));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(USER_ID, toDate(loggedOutAt.minusMinutes(5))));
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
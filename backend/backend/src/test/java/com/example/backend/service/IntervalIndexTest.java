@@ -0,0 +1,125 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Half-open window semantics of the interval index, checked against a brute-force overlap count
+ */
+class IntervalIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 6, 1, 8, 0);
+
+    @Test
+    void windowsTouchingAtOneEndDoNotOverlap() {
+        IntervalIndex<Long, String> index = new IntervalIndex<>();
+        index.add(1L, at(0), at(60), "morning");
+
+        // [a, b) and [b, c) share only the instant b
+        assertEquals(0, index.countOverlapping(1L, at(60), at(120)));
+        assertNull(index.findOverlapping(1L, at(60), at(120)));
+        assertEquals(0, index.countOverlapping(1L, at(-60), at(0)));
+        assertNull(index.findOverlapping(1L, at(-60), at(0)));
+
+        // One minute into either side overlaps
+        assertEquals(1, index.countOverlapping(1L, at(59), at(120)));
+        assertEquals(1, index.countOverlapping(1L, at(-60), at(1)));
+    }
+
+    @Test
+    void containedAndContainingWindowsOverlap() {
+        IntervalIndex<Long, String> index = new IntervalIndex<>();
+        index.add(1L, at(0), at(60), "exam");
+
+        assertEquals(1, index.countOverlapping(1L, at(10), at(20)));
+        assertEquals(1, index.countOverlapping(1L, at(-10), at(70)));
+        assertEquals(1, index.countOverlapping(1L, at(0), at(60)));
+        assertEquals("exam", index.findOverlapping(1L, at(10), at(20)));
+    }
+
+    @Test
+    void duplicateStartsAreAllCounted() {
+        IntervalIndex<Long, String> index = new IntervalIndex<>();
+        index.add(1L, at(0), at(30), "short");
+        index.add(1L, at(0), at(90), "long");
+        index.add(1L, at(0), at(60), "medium");
+
+        assertEquals(3, index.countOverlapping(1L, at(10), at(20)));
+        assertEquals(2, index.countOverlapping(1L, at(30), at(45)));
+        assertEquals(1, index.countOverlapping(1L, at(60), at(120)));
+        // Only the long window reaches past 60, although all three start together
+        assertEquals("long", index.findOverlapping(1L, at(60), at(120)));
+        assertNull(index.findOverlapping(1L, at(90), at(120)));
+    }
+
+    @Test
+    void findOverlappingSkipsWindowsEndingBeforeQuery() {
+        IntervalIndex<Long, String> index = new IntervalIndex<>();
+        index.add(1L, at(0), at(240), "all-day");
+        index.add(1L, at(60), at(90), "late-morning");
+
+        // The latest-starting window ended before the query, the earlier one still covers it
+        assertEquals("all-day", index.findOverlapping(1L, at(120), at(150)));
+        assertEquals(1, index.countOverlapping(1L, at(120), at(150)));
+    }
+
+    @Test
+    void keysAreIndependent() {
+        IntervalIndex<Long, String> index = new IntervalIndex<>();
+        index.add(1L, at(0), at(60), "student 1");
+
+        assertEquals(0, index.countOverlapping(2L, at(0), at(60)));
+        assertNull(index.findOverlapping(2L, at(0), at(60)));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomWindows() {
+        Random random = new Random(42);
+        IntervalIndex<Long, Integer> index = new IntervalIndex<>();
+        List<long[]> windows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            long key = random.nextInt(5);
+            long start = random.nextInt(1000);
+            long end = start + 1 + random.nextInt(120);
+            index.add(key, at(start), at(end), i);
+            windows.add(new long[]{key, start, end});
+        }
+
+        for (int q = 0; q < 5000; q++) {
+            long key = random.nextInt(5);
+            long start = random.nextInt(1100) - 50;
+            long end = start + 1 + random.nextInt(120);
+
+            int expected = 0;
+            for (long[] window : windows) {
+                if (window[0] == key && window[1] < end && start < window[2]) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.countOverlapping(key, at(start), at(end)));
+
+            Integer found = index.findOverlapping(key, at(start), at(end));
+            if (expected == 0) {
+                assertNull(found);
+            } else {
+                assertNotNull(found);
+                long[] window = windows.get(found);
+                assertTrue(window[0] == key && window[1] < end && start < window[2],
+                        "found window does not overlap the query");
+            }
+        }
+    }
+
+    private static LocalDateTime at(long minutes) {
+        return T0.plusMinutes(minutes);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.QuestionBankTreeResponse;
+import com.example.backend.dto.response.QuestionResponse;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.Chapter;
+import com.example.backend.entity.Passage;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.Subject;
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.QuestionType;
+import com.example.backend.event.QuestionBankChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the question listing and tree read paths against N+1 regressions
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QuestionBankServiceQueryCountTest {
+
+    private static final int PASSAGES = 3;
+    private static final int QUESTIONS_PER_PASSAGE = 40;
+    private static final int ANSWERS_PER_QUESTION = 4;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Autowired
+    private QuestionBankTreeService questionBankTreeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Chapter chapter;
+    private Passage firstPassage;
+
+    @BeforeEach
+    void seedQuestionBank() {
+        Subject subject = Subject.builder()
+                .code("QC-" + System.nanoTime())
+                .name("Query count subject")
+                .build();
+        entityManager.persist(subject);
+
+        chapter = Chapter.builder()
+                .subject(subject)
+                .chapterNumber(1)
+                .title("Chapter 1")
+                .displayOrder(1)
+                .build();
+        entityManager.persist(chapter);
+
+        for (int p = 1; p <= PASSAGES; p++) {
+            Passage passage = Passage.builder()
+                    .chapter(chapter)
+                    .title("Passage " + p)
+                    .displayOrder(p)
+                    .build();
+            entityManager.persist(passage);
+            if (firstPassage == null) {
+                firstPassage = passage;
+            }
+
+            for (int q = 1; q <= QUESTIONS_PER_PASSAGE; q++) {
+                Question question = Question.builder()
+                        .passage(passage)
+                        .questionType(QuestionType.MULTIPLE_CHOICE)
+                        .content("Question " + p + "." + q)
+                        .difficultyLevel(DifficultyLevel.MEDIUM)
+                        .points(BigDecimal.ONE)
+                        .displayOrder(q)
+                        .build();
+                entityManager.persist(question);
+
+                for (int a = 1; a <= ANSWERS_PER_QUESTION; a++) {
+                    entityManager.persist(Answer.builder()
+                            .question(question)
+                            .content("Answer " + a)
+                            .isCorrect(a == 1)
+                            .displayOrder(a)
+                            .build());
+                }
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getQuestionsByChapterUsesConstantNumberOfQueries() {
+        Statistics statistics = statistics();
+
+        List<QuestionResponse> questions = questionBankService.getQuestionsByChapter(chapter.getId());
+
+        assertEquals(PASSAGES * QUESTIONS_PER_PASSAGE, questions.size());
+        assertTrue(questions.stream().allMatch(q -> q.getAnswers().size() == ANSWERS_PER_QUESTION));
+        // existence check + question rows + answer rows
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getQuestionsByPassageUsesConstantNumberOfQueries() {
+        Statistics statistics = statistics();
+
+        List<QuestionResponse> questions = questionBankService.getQuestionsByPassage(firstPassage.getId());
+
+        assertEquals(QUESTIONS_PER_PASSAGE, questions.size());
+        assertEquals(1, questions.get(0).getDisplayOrder());
+        assertEquals(1, questions.get(0).getAnswers().get(0).getDisplayOrder());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPagesCoverChapterWithoutOverlap() {
+        Set<Long> seen = new HashSet<>();
+        List<QuestionResponse> all = new ArrayList<>();
+        Integer afterDisplayOrder = null;
+        Long afterId = null;
+
+        while (true) {
+            Statistics statistics = statistics();
+            List<QuestionResponse> page = questionBankService.getQuestionsByChapter(
+                    chapter.getId(), afterDisplayOrder, afterId, 25);
+            assertTrue(statistics.getPrepareStatementCount() <= 3);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(q -> assertTrue(seen.add(q.getId()), "Duplicate question " + q.getId()));
+            all.addAll(page);
+
+            QuestionResponse last = page.get(page.size() - 1);
+            afterDisplayOrder = last.getDisplayOrder();
+            afterId = last.getId();
+        }
+
+        assertEquals(PASSAGES * QUESTIONS_PER_PASSAGE, all.size());
+    }
+
+    @Test
+    void subjectTreeIsBuiltWithSetBasedQueriesAndCached() {
+        Long subjectId = chapter.getSubject().getId();
+        Statistics statistics = statistics();
+
+        QuestionBankTreeResponse tree = questionBankTreeService.getSubjectTree(subjectId);
+
+        assertEquals(1, tree.getChapterCount());
+        assertEquals(PASSAGES, tree.getPassageCount());
+        assertEquals(PASSAGES * QUESTIONS_PER_PASSAGE, tree.getQuestionCount());
+        assertEquals(QUESTIONS_PER_PASSAGE, tree.getChapters().get(0).getPassages().get(0).getQuestionCount());
+        // subject + chapters + passages + question summaries
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Expected at most 4 statements but was " + statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        questionBankTreeService.getSubjectTree(subjectId);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        questionBankTreeService.onQuestionBankChanged(new QuestionBankChangedEvent(subjectId));
+        questionBankTreeService.getSubjectTree(subjectId);
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.QuestionResponse;
+import com.example.backend.entity.Chapter;
+import com.example.backend.entity.Passage;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.Subject;
+import com.example.backend.mapper.QuestionMapper;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.ChapterRepository;
+import com.example.backend.repository.PassageRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.SubjectRepository;
+import com.example.backend.security.CurrentUserProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deleting by any version ID retires the question itself, and version listings tell edits from deletes
+ */
+class QuestionBankServiceTest {
+
+    private static final Long ROOT_ID = 10L;
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final QuestionMapper questionMapper = mock(QuestionMapper.class);
+    private final QuestionBankService service = new QuestionBankService(
+            mock(SubjectRepository.class), mock(ChapterRepository.class), mock(PassageRepository.class),
+            questionRepository, mock(AnswerRepository.class), questionMapper,
+            mock(ApplicationEventPublisher.class), mock(CurrentUserProvider.class));
+
+    private final Passage passage = passage();
+
+    @Test
+    void deleteRetiredVersion_retiresCurrentVersion() {
+        Question retired = version(ROOT_ID, 1, false);
+        Question current = version(11L, 2, true);
+        when(questionRepository.findById(ROOT_ID)).thenReturn(Optional.of(retired));
+        when(questionRepository.findCurrentVersionForUpdate(ROOT_ID)).thenReturn(Optional.of(current));
+
+        service.deleteQuestion(ROOT_ID);
+
+        assertFalse(current.getIsActive());
+        verify(questionRepository).save(current);
+    }
+
+    @Test
+    void deleteDuringEdit_retiresVersionCreatedByEdit() {
+        Question replaced = version(ROOT_ID, 1, true);
+        Question created = version(11L, 2, true);
+        when(questionRepository.findById(ROOT_ID)).thenReturn(Optional.of(replaced));
+        // The edit committed while the delete waited for the lock, so the first read finds no current version
+        when(questionRepository.findCurrentVersionForUpdate(ROOT_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+
+        service.deleteQuestion(ROOT_ID);
+
+        assertFalse(created.getIsActive());
+        verify(questionRepository).save(created);
+    }
+
+    @Test
+    void deleteDeletedQuestion_changesNothing() {
+        when(questionRepository.findById(ROOT_ID)).thenReturn(Optional.of(version(ROOT_ID, 1, false)));
+        when(questionRepository.findCurrentVersionForUpdate(ROOT_ID)).thenReturn(Optional.empty());
+
+        service.deleteQuestion(ROOT_ID);
+
+        verify(questionRepository, never()).save(any());
+    }
+
+    @Test
+    void getQuestionVersions_marksEditedVersionsSuperseded() {
+        Question first = version(ROOT_ID, 1, false);
+        Question deleted = version(11L, 2, false);
+        when(questionRepository.findById(11L)).thenReturn(Optional.of(deleted));
+        when(questionRepository.findVersionsByRootId(ROOT_ID)).thenReturn(List.of(first, deleted));
+        when(questionMapper.toQuestionResponse(any())).thenAnswer(invocation -> new QuestionResponse());
+
+        List<QuestionResponse> versions = service.getQuestionVersions(11L);
+
+        assertEquals(2, versions.size());
+        assertTrue(versions.get(0).getSuperseded());
+        // Inactive but not superseded: the question was deleted
+        assertFalse(versions.get(1).getSuperseded());
+    }
+
+    private Question version(Long id, int version, boolean active) {
+        Question question = Question.builder()
+                .passage(passage)
+                .content("Question v" + version)
+                .version(version)
+                .rootQuestionId(version == 1 ? null : ROOT_ID)
+                .isActive(active)
+                .build();
+        question.setId(id);
+        return question;
+    }
+
+    private static Passage passage() {
+        Subject subject = Subject.builder().code("S").name("Subject").build();
+        subject.setId(1L);
+        Chapter chapter = Chapter.builder().subject(subject).title("Chapter").build();
+        return Passage.builder().chapter(chapter).title("Passage").build();
+    }
+}
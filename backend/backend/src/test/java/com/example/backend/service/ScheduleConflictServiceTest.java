@@ -0,0 +1,87 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.projection.SessionWindowProjection;
+import com.example.backend.dto.response.ScheduleConflictResponse;
+import com.example.backend.entity.ExamRoom;
+import com.example.backend.repository.ExamSessionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Conflict detection of one scheduling window against existing sessions and the batch itself
+ */
+class ScheduleConflictServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 9, 0);
+    private static final LocalDateTime END = START.plusMinutes(90);
+
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+    private final ScheduleConflictService service = new ScheduleConflictService(examSessionRepository);
+
+    @Test
+    void detect_duplicatedStudent_conflictsWithItself() {
+        noExistingSessions();
+
+        ScheduleConflictResponse response = service.detect(1L, null, List.of(10L, 11L, 10L), START, END);
+
+        assertTrue(response.getHasConflicts());
+        assertEquals(1, response.getStudentConflicts().size());
+        ScheduleConflictResponse.StudentConflict conflict = response.getStudentConflicts().get(0);
+        assertEquals(10L, conflict.getStudentId());
+        // The conflicting window is the planned one, which has no session yet
+        assertNull(conflict.getSessionId());
+        assertEquals(START, conflict.getStartTime());
+    }
+
+    @Test
+    void detect_existingSessions_onlyOverlappingOnesConflict() {
+        when(examSessionRepository.findActiveWindowsByStudentIds(any(), any(), any())).thenReturn(List.of(
+                // Ends exactly when the new window starts
+                new SessionWindowProjection(100L, 10L, 5L, START.minusMinutes(90), START),
+                new SessionWindowProjection(101L, 11L, 5L, START.plusMinutes(30), END.plusMinutes(30))));
+        when(examSessionRepository.findActiveWindowsByExamRoomIds(any(), any(), any())).thenReturn(List.of(
+                new SessionWindowProjection(101L, 11L, 5L, START.plusMinutes(30), END.plusMinutes(30)),
+                new SessionWindowProjection(102L, 12L, 5L, START, END)));
+
+        ScheduleConflictResponse response = service.detect(1L, room(5L, 3), List.of(10L, 11L), START, END);
+
+        assertEquals(1, response.getStudentConflicts().size());
+        assertEquals(11L, response.getStudentConflicts().get(0).getStudentId());
+        assertEquals(101L, response.getStudentConflicts().get(0).getSessionId());
+        // Session 101 is both a student and a room window and is counted once
+        assertEquals(2, response.getRoomOccupiedCount());
+        assertTrue(response.getRoomOverCapacity());
+    }
+
+    @Test
+    void detect_noConflicts() {
+        noExistingSessions();
+
+        ScheduleConflictResponse response = service.detect(1L, room(5L, 2), List.of(10L, 11L), START, END);
+
+        assertFalse(response.getHasConflicts());
+        assertTrue(response.getStudentConflicts().isEmpty());
+        assertFalse(response.getRoomOverCapacity());
+    }
+
+    private void noExistingSessions() {
+        when(examSessionRepository.findActiveWindowsByStudentIds(any(), any(), any())).thenReturn(List.of());
+        when(examSessionRepository.findActiveWindowsByExamRoomIds(any(), any(), any())).thenReturn(List.of());
+    }
+
+    private static ExamRoom room(Long id, int capacity) {
+        ExamRoom room = ExamRoom.builder().name("Room").code("R" + id).capacity(capacity).build();
+        room.setId(id);
+        return room;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.websocket;
+
+import com.example.backend.config.AnswerSocketConfig;
+import com.example.backend.dto.request.SubmitAnswerRequest;
+import com.example.backend.dto.response.AnswerAck;
+import com.example.backend.service.ExamSessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sequence number dedup of the answer socket: resends of saved frames are not saved twice,
+ * resends of failed frames are saved again
+ */
+class AnswerSocketHandlerTest {
+
+    private static final Long EXAM_SESSION_ID = 7L;
+
+    private final ExamSessionService examSessionService = mock(ExamSessionService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnswerSocketHandler handler =
+            new AnswerSocketHandler(examSessionService, new AnswerSocketConfig(), objectMapper);
+
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(AnswerSocketHandshakeInterceptor.SESSION_ID_ATTRIBUTE, EXAM_SESSION_ID);
+        attributes.put("connection", session);
+        when(session.getAttributes()).thenReturn(attributes);
+    }
+
+    @Test
+    void resendAfterFailedSave_isSaved() throws Exception {
+        doThrow(new RuntimeException("connection reset"))
+                .doNothing()
+                .when(examSessionService).submitAnswer(eq(EXAM_SESSION_ID), any(SubmitAnswerRequest.class));
+
+        handler.handleMessage(session, frame(1, 100));
+        handler.handleMessage(session, frame(1, 100));
+
+        verify(examSessionService, times(2)).submitAnswer(eq(EXAM_SESSION_ID), any(SubmitAnswerRequest.class));
+        List<AnswerAck> acks = acks(2);
+        assertFalse(acks.get(0).isOk());
+        assertTrue(acks.get(1).isOk());
+        assertEquals(1L, acks.get(1).getSeq());
+    }
+
+    @Test
+    void resendOfFailedFrameBelowLastSaved_isSaved() throws Exception {
+        doThrow(new RuntimeException("connection reset"))
+                .doNothing()
+                .when(examSessionService).submitAnswer(eq(EXAM_SESSION_ID), any(SubmitAnswerRequest.class));
+
+        handler.handleMessage(session, frame(1, 100));
+        handler.handleMessage(session, frame(2, 101));
+        handler.handleMessage(session, frame(1, 100));
+
+        ArgumentCaptor<SubmitAnswerRequest> saved = ArgumentCaptor.forClass(SubmitAnswerRequest.class);
+        verify(examSessionService, times(3)).submitAnswer(eq(EXAM_SESSION_ID), saved.capture());
+        assertEquals(100L, saved.getAllValues().get(2).getQuestionId());
+        assertTrue(acks(3).get(2).isOk());
+    }
+
+    @Test
+    void resendOfSavedFrame_isAckedWithoutSaving() throws Exception {
+        doNothing().when(examSessionService).submitAnswer(eq(EXAM_SESSION_ID), any(SubmitAnswerRequest.class));
+
+        handler.handleMessage(session, frame(1, 100));
+        handler.handleMessage(session, frame(1, 100));
+
+        verify(examSessionService, times(1)).submitAnswer(eq(EXAM_SESSION_ID), any(SubmitAnswerRequest.class));
+        assertTrue(acks(2).get(1).isOk());
+    }
+
+    private TextMessage frame(long seq, long questionId) {
+        return new TextMessage("{\"seq\":" + seq + ",\"q\":" + questionId + ",\"a\":1}");
+    }
+
+    private List<AnswerAck> acks(int count) throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(count)).sendMessage(sent.capture());
+        return sent.getAllValues().stream()
+                .map(message -> {
+                    try {
+                        return objectMapper.readValue(((TextMessage) message).getPayload(), AnswerAck.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
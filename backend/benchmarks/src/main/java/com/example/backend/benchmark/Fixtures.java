@@ -0,0 +1,181 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Passage;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.Role;
+import com.example.backend.entity.StudentAnswer;
+import com.example.backend.entity.Subject;
+import com.example.backend.entity.User;
+import com.example.backend.enums.DifficultyLevel;
+import com.example.backend.enums.ExamSessionStatus;
+import com.example.backend.enums.QuestionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic entities shaped like a real exam: every tenth question is fill-in-blank, the rest have four options.
+ * Fixed seeds keep runs comparable with the committed baseline.
+ */
+final class Fixtures {
+
+    static final int OPTIONS_PER_QUESTION = 4;
+
+    private Fixtures() {
+    }
+
+    static Subject subject(long id) {
+        return Subject.builder().id(id).code("SUB" + id).name("Subject " + id).build();
+    }
+
+    static User student(long id) {
+        Role role = Role.builder().id(3L).name("STUDENT").build();
+        return User.builder()
+                .id(id)
+                .username("student" + id)
+                .email("student" + id + "@example.com")
+                .passwordHash("hash")
+                .fullName("Student " + id)
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+
+    static Exam exam(Subject subject, int questionCount, boolean shuffled) {
+        return Exam.builder()
+                .id(1L)
+                .subject(subject)
+                .title("Benchmark exam")
+                .durationMinutes(90)
+                .totalQuestions(questionCount)
+                .totalPoints(BigDecimal.valueOf(questionCount))
+                .passingScore(BigDecimal.valueOf(50))
+                .isShuffled(shuffled)
+                .isShuffleAnswers(shuffled)
+                .showResultImmediately(false)
+                .allowReview(true)
+                .isActive(true)
+                .createdBy(student(0))
+                .build();
+    }
+
+    static List<Question> questions(int count) {
+        Passage passage = Passage.builder().id(1L).title("Passage").displayOrder(1).build();
+        List<Question> questions = new ArrayList<>(count);
+        long answerId = 1;
+        for (int i = 0; i < count; i++) {
+            boolean fillInBlank = i % 10 == 9;
+            Question question = Question.builder()
+                    .id(i + 1L)
+                    .passage(passage)
+                    .questionType(fillInBlank ? QuestionType.FILL_IN_BLANK : QuestionType.MULTIPLE_CHOICE)
+                    .content("Question " + (i + 1) + " asks something of moderate length for a realistic payload?")
+                    .explanation("Because option A is right.")
+                    .difficultyLevel(DifficultyLevel.values()[i % DifficultyLevel.values().length])
+                    .points(BigDecimal.ONE)
+                    .displayOrder(i + 1)
+                    .isActive(true)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .build();
+            int options = fillInBlank ? 1 : OPTIONS_PER_QUESTION;
+            for (int o = 0; o < options; o++) {
+                question.getAnswers().add(Answer.builder()
+                        .id(answerId++)
+                        .question(question)
+                        .content(fillInBlank ? "Answer " + (i + 1) : "Option " + (char) ('A' + o))
+                        .isCorrect(o == 0)
+                        .displayOrder(o + 1)
+                        .build());
+            }
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    static List<ExamQuestion> examQuestions(Exam exam, List<Question> questions) {
+        List<ExamQuestion> examQuestions = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            examQuestions.add(ExamQuestion.builder()
+                    .id(i + 1L)
+                    .exam(exam)
+                    .question(questions.get(i))
+                    .displayOrder(i + 1)
+                    .points(BigDecimal.ONE)
+                    .build());
+        }
+        return examQuestions;
+    }
+
+    static ExamSession inProgressSession(Exam exam, User student) {
+        LocalDateTime now = LocalDateTime.now();
+        return ExamSession.builder()
+                .id(1L)
+                .exam(exam)
+                .student(student)
+                .sessionCode("BENCH-1")
+                .startTime(now.minusMinutes(10))
+                .endTime(now.plusHours(12))
+                .actualStartTime(now.minusMinutes(5))
+                .status(ExamSessionStatus.IN_PROGRESS)
+                .build();
+    }
+
+    /**
+     * One answer per question, about 70% correct
+     */
+    static List<StudentAnswer> studentAnswers(ExamSession session, List<Question> questions, Random random) {
+        List<StudentAnswer> answers = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            boolean correct = random.nextInt(10) < 7;
+            StudentAnswer.StudentAnswerBuilder builder = StudentAnswer.builder()
+                    .id(i + 1L)
+                    .examSession(session)
+                    .question(question)
+                    .timeSpentSeconds(30);
+            if (question.getQuestionType() == QuestionType.FILL_IN_BLANK) {
+                builder.answerText(correct ? " answer " + (i + 1) + " " : "wrong");
+            } else {
+                builder.answer(question.getAnswers().get(correct ? 0 : 1 + random.nextInt(OPTIONS_PER_QUESTION - 1)));
+            }
+            answers.add(builder.build());
+        }
+        return answers;
+    }
+
+    /**
+     * Sessions of many students over several subjects; most completed and graded
+     */
+    static List<ExamSession> gradedSessions(int count, int subjectCount, Random random) {
+        List<Exam> exams = new ArrayList<>(subjectCount);
+        for (int s = 0; s < subjectCount; s++) {
+            exams.add(exam(subject(s + 1L), 100, false));
+        }
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 0);
+        List<ExamSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean completed = random.nextInt(10) < 9;
+            BigDecimal percentage = completed ? BigDecimal.valueOf(random.nextInt(10001), 2) : null;
+            sessions.add(ExamSession.builder()
+                    .id(i + 1L)
+                    .exam(exams.get(i % subjectCount))
+                    .student(student(i + 1L))
+                    .sessionCode("S" + i)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(90))
+                    .status(completed ? ExamSessionStatus.COMPLETED : ExamSessionStatus.MISSED)
+                    .percentageScore(percentage)
+                    .isPassed(percentage != null ? percentage.compareTo(BigDecimal.valueOf(50)) >= 0 : null)
+                    .violationCount(random.nextInt(3))
+                    .build());
+        }
+        return sessions;
+    }
+}
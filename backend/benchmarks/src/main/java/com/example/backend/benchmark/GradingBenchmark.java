@@ -0,0 +1,93 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.StudentAnswer;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.StudentAnswerRepository;
+import com.example.backend.service.ExamVariantService;
+import com.example.backend.service.GradingService;
+import com.example.backend.service.QuestionPoolService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading of a 100-question session, with exam-wide points or a per-student variant
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean variant;
+
+    private GradingService gradingService;
+    private ExamSession session;
+
+    @Setup
+    public void setUp() {
+        List<Question> questions = Fixtures.questions(100);
+        session = Fixtures.inProgressSession(Fixtures.exam(Fixtures.subject(1L), questions.size(), false), Fixtures.student(1L));
+        List<StudentAnswer> studentAnswers = Fixtures.studentAnswers(session, questions, new Random(42));
+
+        if (variant) {
+            List<Long> questionIds = new ArrayList<>();
+            List<BigDecimal> points = new ArrayList<>();
+            for (Question question : questions) {
+                questionIds.add(question.getId());
+                points.add(BigDecimal.valueOf(2));
+            }
+            session.setQuestionsData(new HashMap<>(Map.of(
+                    "questionIds", questionIds,
+                    "points", points,
+                    "totalPoints", BigDecimal.valueOf(2L * questions.size()))));
+        }
+
+        // Answer rows as the repository would return them, one query for all fill-in-blank questions
+        List<AnswerProjection> answers = new ArrayList<>();
+        for (Question question : questions) {
+            for (Answer answer : question.getAnswers()) {
+                answers.add(new AnswerProjection(answer.getId(), question.getId(), answer.getContent(),
+                        answer.getIsCorrect(), answer.getDisplayOrder()));
+            }
+        }
+
+        gradingService = new GradingService(
+                Stubs.of(AnswerRepository.class, Map.of(
+                        "findActiveProjectionsByQuestionIds", args -> answers)),
+                Stubs.of(StudentAnswerRepository.class, Map.of(
+                        "findByExamSessionWithQuestionAndAnswer", args -> studentAnswers,
+                        "save", args -> args[0])),
+                new ExamVariantService(new QuestionPoolService(Stubs.unused(QuestionRepository.class))));
+    }
+
+    @Benchmark
+    public ExamSession gradeExamSession() {
+        gradingService.gradeExamSession(session);
+        return session;
+    }
+}
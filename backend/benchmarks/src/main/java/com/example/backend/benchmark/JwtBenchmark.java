@@ -0,0 +1,96 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.config.JwtConfig;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.JwtAuthenticationFilter;
+import com.example.backend.security.JwtTokenProvider;
+import com.example.backend.security.TokenRevocationService;
+import com.example.backend.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issue, verification and the authentication filter every API request passes through
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private UserDetailsImpl userDetails;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret");
+        jwtConfig.setAccessTokenExpiration(3600000L);
+
+        jwtTokenProvider = new JwtTokenProvider(jwtConfig);
+        jwtTokenProvider.init();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider,
+                new TokenRevocationService(Stubs.unused(UserRepository.class), jwtConfig), jwtConfig);
+
+        userDetails = UserDetailsImpl.build(Fixtures.student(1L));
+        token = jwtTokenProvider.generateAccessToken(userDetails);
+
+        request = new MockHttpServletRequest("POST", "/exam-sessions/1/submit-answer");
+        request.addHeader(jwtConfig.getHeaderName(), jwtConfig.getTokenPrefix() + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(userDetails);
+    }
+
+    /**
+     * Signature check and claims parsing of every call
+     */
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtTokenProvider.getClaimsFromToken(token);
+    }
+
+    /**
+     * Request path verification, served from the verified-token cache after the first call
+     */
+    @Benchmark
+    public Claims verifyAndGetClaims() {
+        return jwtTokenProvider.verifyAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Authentication authenticationFilter() throws Exception {
+        jwtAuthenticationFilter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.dto.projection.QuestionProjection;
+import com.example.backend.dto.response.ExamDetailResponse;
+import com.example.backend.dto.response.ExamResponse;
+import com.example.backend.dto.response.QuestionResponse;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.Question;
+import com.example.backend.mapper.ExamMapper;
+import com.example.backend.mapper.QuestionMapper;
+import com.example.backend.repository.ExamQuestionRepository;
+import com.example.backend.repository.PassageRepository;
+import com.example.backend.repository.QuestionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO assembly of a 100-question exam: entity graphs through the mappers and flat projection rows
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ExamMapper examMapper;
+    private QuestionMapper questionMapper;
+    private Exam exam;
+    private List<QuestionProjection> questionRows;
+    private List<AnswerProjection> answerRows;
+
+    @Setup
+    public void setUp() {
+        List<Question> questions = Fixtures.questions(100);
+        exam = Fixtures.exam(Fixtures.subject(1L), questions.size(), false);
+        List<ExamQuestion> examQuestions = Fixtures.examQuestions(exam, questions);
+
+        questionMapper = new QuestionMapper(Stubs.unused(PassageRepository.class), Stubs.unused(QuestionRepository.class));
+        examMapper = new ExamMapper(
+                Stubs.of(ExamQuestionRepository.class, Map.of("findByExamIdWithQuestion", args -> examQuestions)),
+                questionMapper);
+
+        questionRows = new ArrayList<>(questions.size());
+        answerRows = new ArrayList<>();
+        for (Question question : questions) {
+            questionRows.add(new QuestionProjection(question.getId(), question.getPassage().getId(),
+                    question.getQuestionType(), question.getContent(), question.getExplanation(),
+                    question.getDifficultyLevel(), question.getPoints(), question.getDisplayOrder(),
+                    question.getIsActive(), question.getVersion(), question.getRootQuestionId(), question.getCreatedAt()));
+            for (Answer answer : question.getAnswers()) {
+                answerRows.add(new AnswerProjection(answer.getId(), question.getId(), answer.getContent(),
+                        answer.getIsCorrect(), answer.getDisplayOrder()));
+            }
+        }
+    }
+
+    @Benchmark
+    public ExamResponse toExamResponse() {
+        return examMapper.toExamResponse(exam);
+    }
+
+    @Benchmark
+    public ExamDetailResponse toExamDetailResponse() {
+        return examMapper.toExamDetailResponse(exam);
+    }
+
+    @Benchmark
+    public List<QuestionResponse> toQuestionResponses() {
+        return questionMapper.toQuestionResponses(questionRows, answerRows);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.config.RateLimitConfig;
+import com.example.backend.security.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit filter over the production rule list, admitting or rejecting requests of many clients.
+ * Buckets are shared; run with -t to measure contention on them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    /**
+     * Permits per second of the answer rule: high enough to admit everything, or low enough to reject
+     */
+    @Param({"1000000000", "0.001"})
+    public double answerPermitsPerSecond;
+
+    private RateLimitFilter rateLimitFilter;
+
+    /**
+     * Requests of one benchmark thread, cycling through its share of the clients
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("POST", "/exam-sessions/42/submit-answer");
+            response = new MockHttpServletResponse();
+            next = (int) (Thread.currentThread().threadId() * 7919 % CLIENTS);
+        }
+
+        MockHttpServletRequest nextRequest() {
+            next = next + 1 == CLIENTS ? 0 : next + 1;
+            request.setRemoteAddr("10.0." + (next >> 8) + "." + (next & 0xff));
+            response.reset();
+            return request;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setRules(List.of(
+                rule("/auth/login", "POST", 0.5, 10),
+                rule("/auth/**", null, 2, 20),
+                rule("/exam-sessions/{id}/submit-answer", "POST", answerPermitsPerSecond, 1),
+                rule("/exam-sessions/**", null, 5, 20)));
+        rateLimitFilter = new RateLimitFilter(rateLimitConfig, new ObjectMapper());
+    }
+
+    @Benchmark
+    public int filter(Client client) throws Exception {
+        MockHttpServletRequest request = client.nextRequest();
+        rateLimitFilter.doFilter(request, client.response, NO_OP_CHAIN);
+        return client.response.getStatus();
+    }
+
+    private static RateLimitConfig.Rule rule(String pattern, String method, double permitsPerSecond, int burst) {
+        RateLimitConfig.Rule rule = new RateLimitConfig.Rule();
+        rule.setPattern(pattern);
+        rule.setMethod(method);
+        rule.setPermitsPerSecond(permitsPerSecond);
+        rule.setBurst(burst);
+        return rule;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.StatisticsResponse;
+import com.example.backend.entity.Exam;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.User;
+import com.example.backend.repository.ExamRepository;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.StudentAnswerRepository;
+import com.example.backend.repository.SubjectRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.CurrentUserProvider;
+import com.example.backend.service.StatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exam and student statistics aggregated over synthetic session lists
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "10000"})
+    public int sessions;
+
+    private StatisticsService statisticsService;
+
+    @Setup
+    public void setUp() {
+        List<ExamSession> sessionList = Fixtures.gradedSessions(sessions, 8, new Random(42));
+        Exam exam = sessionList.get(0).getExam();
+        User student = Fixtures.student(1L);
+
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of("findById", args -> Optional.of(student)));
+        statisticsService = new StatisticsService(
+                userRepository,
+                Stubs.unused(SubjectRepository.class),
+                Stubs.unused(QuestionRepository.class),
+                Stubs.of(ExamRepository.class, Map.of("findById", args -> Optional.of(exam))),
+                Stubs.of(ExamSessionRepository.class, Map.of(
+                        "findByExam", args -> sessionList,
+                        "findByStudent", args -> sessionList)),
+                Stubs.unused(StudentAnswerRepository.class),
+                new CurrentUserProvider(userRepository));
+    }
+
+    @Benchmark
+    public StatisticsResponse.ExamStats examStatistics() {
+        return statisticsService.getExamStatistics(1L);
+    }
+
+    /**
+     * Includes the per-subject grouping
+     */
+    @Benchmark
+    public StatisticsResponse.StudentStats studentStatistics() {
+        return statisticsService.getStudentStatistics(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repository stand-ins backed by canned answers, so benchmarks measure service code without a database.
+ * Methods without an answer throw, which keeps a benchmark from silently measuring an unexpected path.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Stub the interface, answering calls by method name from their arguments
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Stub(" + type.getSimpleName() + ")";
+                };
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+    }
+
+    /**
+     * Stub the interface with no answers, for dependencies the benchmarked path never calls
+     */
+    static <T> T unused(Class<T> type) {
+        return of(type, Map.of());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.config.ExamTicketConfig;
+import com.example.backend.config.JwtConfig;
+import com.example.backend.dto.projection.AnswerProjection;
+import com.example.backend.dto.response.TakeExamResponse;
+import com.example.backend.entity.Answer;
+import com.example.backend.entity.ExamQuestion;
+import com.example.backend.entity.ExamSession;
+import com.example.backend.entity.Question;
+import com.example.backend.entity.StudentAnswer;
+import com.example.backend.entity.User;
+import com.example.backend.repository.AnswerRepository;
+import com.example.backend.repository.ExamQuestionRepository;
+import com.example.backend.repository.ExamRepository;
+import com.example.backend.repository.ExamRoomRepository;
+import com.example.backend.repository.ExamSessionRepository;
+import com.example.backend.repository.QuestionRepository;
+import com.example.backend.repository.StudentAnswerRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.CurrentUserProvider;
+import com.example.backend.security.ExamTicketService;
+import com.example.backend.security.UserDetailsImpl;
+import com.example.backend.service.ExamSessionService;
+import com.example.backend.service.ExamSessionStartBatcher;
+import com.example.backend.service.ExamVariantService;
+import com.example.backend.service.GradingService;
+import com.example.backend.service.QuestionPoolService;
+import com.example.backend.service.ScheduleConflictService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Take-exam payload of a 100-question session already in progress: question and option shuffling plus DTO assembly.
+ * This is what every student reloading the exam page costs, minus the database round trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TakeExamBenchmark {
+
+    @Param({"false", "true"})
+    public boolean shuffled;
+
+    private ExamSessionService examSessionService;
+    private ExamSession session;
+
+    @Setup
+    public void setUp() {
+        List<Question> questions = Fixtures.questions(100);
+        User student = Fixtures.student(1L);
+        session = Fixtures.inProgressSession(Fixtures.exam(Fixtures.subject(1L), questions.size(), shuffled), student);
+        List<ExamQuestion> examQuestions = Fixtures.examQuestions(session.getExam(), questions);
+
+        // Half of the questions already answered
+        List<StudentAnswer> submitted = new ArrayList<>();
+        List<StudentAnswer> studentAnswers = Fixtures.studentAnswers(session, questions, new Random(42));
+        for (int i = 0; i < studentAnswers.size(); i += 2) {
+            submitted.add(studentAnswers.get(i));
+        }
+        List<AnswerProjection> answers = new ArrayList<>();
+        for (Question question : questions) {
+            for (Answer answer : question.getAnswers()) {
+                answers.add(new AnswerProjection(answer.getId(), question.getId(), answer.getContent(),
+                        answer.getIsCorrect(), answer.getDisplayOrder()));
+            }
+        }
+
+        UserRepository userRepository = Stubs.of(UserRepository.class,
+                Map.of("findById", args -> Optional.of(student)));
+        QuestionRepository questionRepository = Stubs.unused(QuestionRepository.class);
+        ExamSessionRepository examSessionRepository = Stubs.of(ExamSessionRepository.class,
+                Map.of("findById", args -> Optional.of(session)));
+        StudentAnswerRepository studentAnswerRepository = Stubs.of(StudentAnswerRepository.class,
+                Map.of("findByExamSession", args -> new ArrayList<>(submitted)));
+        AnswerRepository answerRepository = Stubs.of(AnswerRepository.class,
+                Map.of("findActiveProjectionsByQuestionIds", args -> new ArrayList<>(answers)));
+        ExamVariantService examVariantService = new ExamVariantService(new QuestionPoolService(questionRepository));
+
+        examSessionService = new ExamSessionService(
+                examSessionRepository,
+                Stubs.unused(ExamRepository.class),
+                userRepository,
+                Stubs.unused(ExamRoomRepository.class),
+                Stubs.of(ExamQuestionRepository.class,
+                        Map.of("findByExamIdWithQuestion", args -> new ArrayList<>(examQuestions))),
+                studentAnswerRepository,
+                answerRepository,
+                questionRepository,
+                new GradingService(answerRepository, studentAnswerRepository, examVariantService),
+                examVariantService,
+                new CurrentUserProvider(userRepository),
+                new ExamTicketService(new ExamTicketConfig(), new JwtConfig()),
+                new ExamSessionStartBatcher(examSessionRepository),
+                event -> {
+                },
+                new ScheduleConflictService(examSessionRepository));
+
+        UserDetailsImpl principal = UserDetailsImpl.build(student);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public TakeExamResponse resumeExam() {
+        return examSessionService.startExam(session.getId());
+    }
+}
@@ -3,6 +3,7 @@
 -- =============================================
 
 -- Drop existing tables if exists
+DROP TABLE IF EXISTS exam_package CASCADE;
 DROP TABLE IF EXISTS exam_question CASCADE;
 DROP TABLE IF EXISTS student_answer CASCADE;
 DROP TABLE IF EXISTS exam_session CASCADE;
@@ -48,6 +49,7 @@ CREATE TABLE users (
     last_login TIMESTAMP,
     provider VARCHAR(50) DEFAULT 'local',
     provider_id VARCHAR(255),
+    tokens_revoked_before TIMESTAMP, -- Access tokens issued earlier are rejected (set on logout)
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     created_by INTEGER REFERENCES users(id),
@@ -58,7 +60,7 @@ CREATE TABLE users (
 CREATE TABLE refresh_token (
     id SERIAL PRIMARY KEY,
     user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    token VARCHAR(500) UNIQUE NOT NULL,
+    token_hash VARCHAR(64) UNIQUE NOT NULL, -- SHA-256 hex of the refresh token
     expires_at TIMESTAMP NOT NULL,
     is_revoked BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -125,6 +127,8 @@ CREATE TABLE question (
     difficulty_level VARCHAR(20), -- 'EASY', 'MEDIUM', 'HARD'
     points DECIMAL(5,2) DEFAULT 1.0,
     display_order INTEGER NOT NULL,
+    version INTEGER NOT NULL DEFAULT 1, -- Edits create a new row with version + 1
+    root_question_id INTEGER REFERENCES question(id), -- First version of this question (NULL for the first version)
     is_active BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -182,6 +186,17 @@ CREATE TABLE exam_question (
     UNIQUE(exam_id, question_id)
 );
 
+-- Published exam package (pre-serialized delivery payload, one per exam)
+CREATE TABLE exam_package (
+    id SERIAL PRIMARY KEY,
+    exam_id INTEGER NOT NULL UNIQUE REFERENCES exam(id) ON DELETE CASCADE,
+    etag VARCHAR(64) NOT NULL, -- SHA-256 hex of json_bytes
+    json_bytes BYTEA NOT NULL,
+    gzip_bytes BYTEA NOT NULL,
+    published_by INTEGER REFERENCES users(id),
+    published_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Exam room table (physical or virtual exam rooms)
 CREATE TABLE exam_room (
     id SERIAL PRIMARY KEY,
@@ -232,6 +247,7 @@ CREATE TABLE exam_session (
     notes TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_seen_at TIMESTAMP, -- Last student heartbeat, snapshotted periodically from memory
     graded_at TIMESTAMP,
     graded_by INTEGER REFERENCES users(id)
 );
@@ -259,11 +275,13 @@ CREATE INDEX idx_users_role ON users(role_id);
 CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_users_is_active ON users(is_active);
+CREATE INDEX idx_users_tokens_revoked_before ON users(tokens_revoked_before);
 
 -- Subject hierarchy indexes
 CREATE INDEX idx_chapter_subject ON chapter(subject_id);
 CREATE INDEX idx_passage_chapter ON passage(chapter_id);
 CREATE INDEX idx_question_passage ON question(passage_id);
+CREATE INDEX idx_question_root ON question(root_question_id);
 CREATE INDEX idx_answer_question ON answer(question_id);
 
 -- Exam indexes